@@ -32,26 +32,23 @@ function SnakeGame({ onBack }) {
     return newFood;
   }, []);
 
-  const fetchLeaderboard = useCallback(async () => {
+  const fetchPersonalBest = useCallback(async () => {
     try {
-      console.log('Fetching leaderboard for snake-game...');
-      const data = await leaderboardApi.getTopScores('snake-game', 5);
-      console.log('Leaderboard data received:', data);
-      setHighScores(data);
-      
-      const history = await leaderboardApi.getUserHistory('snake-game');
-      if (history && history.length > 0) {
-        const best = Math.max(...history.map(h => h.score));
-        setPersonalBest(best);
+      const stats = await leaderboardApi.getUserGameStats('snake-game');
+      if (stats) {
+        setPersonalBest(stats.bestScore);
       }
     } catch (err) {
-      console.error('Failed to fetch leaderboard:', err);
+      console.error('Failed to fetch personal best:', err);
     }
   }, []);
 
   useEffect(() => {
-    fetchLeaderboard();
-  }, [fetchLeaderboard]);
+    fetchPersonalBest();
+  }, [fetchPersonalBest]);
+
+  // Top scores are pushed by the server whenever they change
+  useEffect(() => leaderboardApi.streamTopScores('snake-game', (entries) => setHighScores(entries.slice(0, 5))), []);
 
   const resetGame = () => {
     setSnake(INITIAL_SNAKE);
@@ -70,8 +67,8 @@ function SnakeGame({ onBack }) {
         gameId: 'snake-game',
         score: score,
       });
-      console.log('Score submitted, refreshing leaderboard...');
-      await fetchLeaderboard();
+      console.log('Score submitted');
+      setPersonalBest((best) => Math.max(best, score));
       alert('Score submitted successfully!');
     } catch (err) {
       console.error('Failed to submit score:', err);
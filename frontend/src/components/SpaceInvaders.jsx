@@ -33,22 +33,23 @@ function SpaceInvaders({ onBack }) {
 
   const keys = useRef({});
 
-  const fetchLeaderboard = useCallback(async () => {
+  const fetchPersonalBest = useCallback(async () => {
     try {
-      const data = await leaderboardApi.getTopScores('space-invaders', 5);
-      setHighScores(data);
-      const history = await leaderboardApi.getUserHistory('space-invaders');
-      if (history && history.length > 0) {
-        setPersonalBest(Math.max(...history.map(h => h.score)));
+      const stats = await leaderboardApi.getUserGameStats('space-invaders');
+      if (stats) {
+        setPersonalBest(stats.bestScore);
       }
     } catch (err) {
-      console.error('Failed to fetch leaderboard:', err);
+      console.error('Failed to fetch personal best:', err);
     }
   }, []);
 
   useEffect(() => {
-    fetchLeaderboard();
-  }, [fetchLeaderboard]);
+    fetchPersonalBest();
+  }, [fetchPersonalBest]);
+
+  // Top scores are pushed by the server whenever they change
+  useEffect(() => leaderboardApi.streamTopScores('space-invaders', (entries) => setHighScores(entries.slice(0, 5))), []);
 
   const initInvaders = () => {
     const invaders = [];
@@ -86,7 +87,7 @@ function SpaceInvaders({ onBack }) {
         gameId: 'space-invaders',
         score: score,
       });
-      await fetchLeaderboard();
+      setPersonalBest((best) => Math.max(best, score));
       alert('Score submitted successfully!');
     } catch (err) {
       console.error('Failed to submit score:', err);
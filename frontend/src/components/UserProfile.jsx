@@ -16,12 +16,9 @@ function UserProfile({ onLogout }) {
   useEffect(() => {
     fetchUserProfile();
     fetchUserHistory();
+    fetchUserStats();
   }, []);
 
-  useEffect(() => {
-    calculateStats(history);
-  }, [history]);
-
   const fetchUserProfile = async () => {
     try {
       setLoading(true);
@@ -50,8 +47,18 @@ function UserProfile({ onLogout }) {
     }
   };
 
-  const calculateStats = (historyData) => {
-    if (!historyData || historyData.length === 0) {
+  const fetchUserStats = async () => {
+    try {
+      const data = await leaderboardApi.getUserStats();
+      calculateStats(data);
+    } catch (err) {
+      console.error('Error fetching user stats:', err);
+    }
+  };
+
+  // gameStats: one entry per game played (bestScore, gamesPlayed, totalScore, ...)
+  const calculateStats = (gameStats) => {
+    if (!gameStats || gameStats.length === 0) {
       setStats({
         gamesPlayed: 0,
         level: 1,
@@ -60,21 +67,21 @@ function UserProfile({ onLogout }) {
       return;
     }
     // 1. Games Played
-    const gamesPlayed = historyData.length;
+    const gamesPlayed = gameStats.reduce((acc, curr) => acc + curr.gamesPlayed, 0);
 
     // 2. Level calculation (e.g., 100 points per level)
-    const totalScore = historyData.reduce((acc, curr) => acc + curr.score, 0);
+    const totalScore = gameStats.reduce((acc, curr) => acc + curr.totalScore, 0);
     const level = Math.floor(totalScore / 100) + 1;
 
     // 3. Achievements logic
     let achievements = 0;
     if (gamesPlayed >= 1) achievements++; // First Game
     if (gamesPlayed >= 10) achievements++; // Veteran (10 games)
-    if (historyData.some(h => h.score >= 50)) achievements++; // Sharpshooter (Score >= 50)
-    if (historyData.some(h => h.score >= 100)) achievements++; // Master (Score >= 100)
+    if (gameStats.some(g => g.bestScore >= 50)) achievements++; // Sharpshooter (Score >= 50)
+    if (gameStats.some(g => g.bestScore >= 100)) achievements++; // Master (Score >= 100)
     
     // Unicitá dei giochi provati
-    const uniqueGames = new Set(historyData.map(h => h.gameId)).size;
+    const uniqueGames = gameStats.length;
     if (uniqueGames >= 3) achievements++; // Explorer (3 unique games)
 
     setStats({
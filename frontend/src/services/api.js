@@ -110,14 +110,89 @@ export const leaderboardApi = {
     const response = await leaderboardApiInstance.get(`/leaderboard/top/${gameId}`, { params: { limit } });
     return response.data;
   },
-  getUserHistory: async (gameId) => {
-    const response = await leaderboardApiInstance.get(`/leaderboard/history/${gameId}`);
+  // Live top scores over Server-Sent Events: onUpdate gets the whole list on connect and after every change.
+  // fetch instead of EventSource so the token travels in the Authorization header. Returns a function that closes the stream.
+  streamTopScores: (gameId, onUpdate) => {
+    const controller = new AbortController();
+    let entries = [];
+
+    const apply = (event, data) => {
+      if (event === 'snapshot') {
+        entries = data;
+      } else if (event === 'diff') {
+        const changed = new Set([...data.removed, ...data.updated.map((entry) => entry.userId)]);
+        entries = [...entries.filter((entry) => !changed.has(entry.userId)), ...data.updated]
+          .sort((a, b) => a.rank - b.rank);
+      } else {
+        return;
+      }
+      onUpdate(entries);
+    };
+
+    const connect = async () => {
+      while (!controller.signal.aborted) {
+        try {
+          await keycloak.updateToken(30).catch(() => {});
+          const response = await fetch(`${LEADERBOARD_SERVICE_URL}/leaderboard/stream/${gameId}`, {
+            headers: { Accept: 'text/event-stream', Authorization: `Bearer ${keycloak.token}` },
+            signal: controller.signal,
+          });
+          if (!response.ok) throw new Error(`HTTP ${response.status}`);
+
+          const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+          let buffer = '';
+          for (;;) {
+            const { value, done } = await reader.read();
+            if (done) break;
+            buffer += value;
+            let boundary;
+            while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+              const block = buffer.slice(0, boundary);
+              buffer = buffer.slice(boundary + 2);
+              let event = 'message';
+              const data = [];
+              for (const line of block.split('\n')) {
+                if (line.startsWith('event:')) event = line.slice(6).trim();
+                else if (line.startsWith('data:')) data.push(line.slice(5));
+              }
+              if (data.length > 0) apply(event, JSON.parse(data.join('\n')));
+            }
+          }
+        } catch (err) {
+          if (controller.signal.aborted) return;
+          console.error('Leaderboard stream interrupted:', err);
+        }
+        // Reconnect (the server ends streams after a while); a new snapshot replaces the list
+        await new Promise((resolve) => setTimeout(resolve, 3000));
+      }
+    };
+
+    connect();
+    return () => controller.abort();
+  },
+  // History endpoints return the most recent scores; older pages via the X-Next-Cursor header
+  getUserHistory: async (gameId, limit = 50) => {
+    const response = await leaderboardApiInstance.get(`/leaderboard/history/${gameId}`, { params: { limit } });
+    return response.data;
+  },
+  getAllUserHistory: async (limit = 50) => {
+    const response = await leaderboardApiInstance.get('/leaderboard/history', { params: { limit } });
     return response.data;
   },
-  getAllUserHistory: async () => {
-    const response = await leaderboardApiInstance.get('/leaderboard/history');
+  getUserStats: async () => {
+    const response = await leaderboardApiInstance.get('/leaderboard/stats');
     return response.data;
   },
+  // null if the user has never played the game
+  getUserGameStats: async (gameId) => {
+    try {
+      const response = await leaderboardApiInstance.get(`/leaderboard/stats/${gameId}`);
+      return response.data;
+    } catch (err) {
+      if (err.response?.status === 404) return null;
+      throw err;
+    }
+  },
 };
 
 export default { userApi, catalogApi, leaderboardApi };
@@ -0,0 +1,145 @@
+package com.gaming.catalog.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+
+/**
+ * In-process Caffeine cache, optionally backed by a shared second-level cache (Redis) so that several
+ * catalog instances share warm entries. A local miss falls through to the second level, then to the loader;
+ * concurrent misses for the same key share one load. Second-level failures are logged and treated as misses.
+ * Evictions are broadcast, so that the other instances drop their local copy too.
+ */
+@Slf4j
+public class TwoLevelCache implements Cache {
+
+    private final CaffeineCache local;
+    private final Cache remote;
+    private final Consumer<String> evictionBroadcaster;
+
+    public TwoLevelCache(String name, Caffeine<Object, Object> local, Cache remote, Consumer<String> evictionBroadcaster) {
+        this.local = new CaffeineCache(name, local.build(), false);
+        this.remote = remote;
+        this.evictionBroadcaster = evictionBroadcaster;
+    }
+
+    public TwoLevelCache(String name, Caffeine<Object, Object> local) {
+        this(name, local, null, cacheName -> {
+        });
+    }
+
+    @Override
+    public String getName() {
+        return local.getName();
+    }
+
+    @Override
+    public com.github.benmanes.caffeine.cache.Cache<Object, Object> getNativeCache() {
+        return local.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper value = local.get(key);
+        if (value == null) {
+            value = remoteGet(key);
+            if (value != null) {
+                local.put(key, value.get());
+            }
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper value = get(key);
+        if (value == null) {
+            return null;
+        }
+        if (type != null && !type.isInstance(value.get())) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value.get());
+        }
+        return (T) value.get();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return local.get(key, () -> {
+            ValueWrapper value = remoteGet(key);
+            if (value != null) {
+                return (T) value.get();
+            }
+            T loaded = valueLoader.call();
+            remotePut(key, loaded);
+            return loaded;
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        local.put(key, value);
+        remotePut(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        local.evict(key);
+        if (remote != null) {
+            try {
+                remote.evict(key);
+            } catch (RuntimeException e) {
+                log.warn("Could not evict {} from second-level cache {}: {}", key, getName(), e.getMessage());
+            }
+        }
+        evictionBroadcaster.accept(getName());
+    }
+
+    @Override
+    public void clear() {
+        local.clear();
+        if (remote != null) {
+            try {
+                remote.clear();
+            } catch (RuntimeException e) {
+                log.warn("Could not clear second-level cache {}: {}", getName(), e.getMessage());
+            }
+        }
+        evictionBroadcaster.accept(getName());
+    }
+
+    /**
+     * Drops every local entry, after another instance evicted something from this cache.
+     */
+    public void clearLocal() {
+        local.clear();
+    }
+
+    private ValueWrapper remoteGet(Object key) {
+        if (remote == null) {
+            return null;
+        }
+        try {
+            return remote.get(key);
+        } catch (RuntimeException e) {
+            log.warn("Second-level cache {} unavailable, reading from the database: {}", getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private void remotePut(Object key, Object value) {
+        if (remote == null) {
+            return;
+        }
+        try {
+            remote.put(key, value);
+        } catch (RuntimeException e) {
+            log.warn("Could not write {} to second-level cache {}: {}", key, getName(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.gaming.catalog.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Fixed set of {@link TwoLevelCache}s. Puts and evictions done inside a transaction are applied after it
+ * commits, so a reader cannot cache a value that is about to be rolled back or overwritten.
+ */
+public class TwoLevelCacheManager extends AbstractTransactionSupportingCacheManager {
+
+    private final Map<String, TwoLevelCache> caches;
+
+    public TwoLevelCacheManager(Collection<TwoLevelCache> caches) {
+        this.caches = caches.stream().collect(Collectors.toMap(TwoLevelCache::getName, Function.identity()));
+        setTransactionAware(true);
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return List.copyOf(caches.values());
+    }
+
+    public void clearLocal(String cacheName) {
+        TwoLevelCache cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.clearLocal();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.gaming.catalog.config;
+
+import com.gaming.catalog.cache.TwoLevelCache;
+import com.gaming.catalog.cache.TwoLevelCacheManager;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Read-through caches for catalog reads: Caffeine in each instance and, when
+ * {@code catalog.cache.redis.enabled=true}, Redis as a second level shared by all instances.
+ */
+@Configuration
+@EnableCaching
+@Slf4j
+public class CacheConfig {
+
+    public static final String GAMES = "games";
+    public static final String GAME_PAGES = "game-pages";
+
+    static final String EVICTION_CHANNEL = "game-catalog:cache-evictions";
+
+    // Lets an instance ignore its own eviction broadcasts
+    private final String instanceId = UUID.randomUUID().toString();
+
+    @Bean
+    public TwoLevelCacheManager cacheManager(@Value("${catalog.cache.maximum-size:1000}") long maximumSize,
+                                             @Value("${catalog.cache.ttl:10m}") Duration ttl,
+                                             @Value("${catalog.cache.redis.enabled:false}") boolean redisEnabled,
+                                             @Value("${catalog.cache.redis.ttl:1h}") Duration redisTtl,
+                                             ObjectProvider<RedisConnectionFactory> redisConnectionFactory,
+                                             ObjectProvider<StringRedisTemplate> redisTemplate) {
+        RedisCacheManager redisCacheManager = null;
+        Consumer<String> evictionBroadcaster = cacheName -> {
+        };
+        if (redisEnabled) {
+            redisCacheManager = RedisCacheManager.builder(redisConnectionFactory.getObject())
+                    .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig()
+                            .entryTtl(redisTtl)
+                            .disableCachingNullValues()
+                            .prefixCacheNameWith("game-catalog:"))
+                    .build();
+            redisCacheManager.initializeCaches();
+            StringRedisTemplate template = redisTemplate.getObject();
+            evictionBroadcaster = cacheName -> {
+                try {
+                    template.convertAndSend(EVICTION_CHANNEL, instanceId + ":" + cacheName);
+                } catch (RuntimeException e) {
+                    log.warn("Could not broadcast eviction of cache {}: {}", cacheName, e.getMessage());
+                }
+            };
+        }
+
+        List<TwoLevelCache> caches = new ArrayList<>();
+        for (String name : List.of(GAMES, GAME_PAGES)) {
+            Cache remote = redisCacheManager != null ? redisCacheManager.getCache(name) : null;
+            caches.add(new TwoLevelCache(name, Caffeine.newBuilder()
+                    .maximumSize(maximumSize)
+                    .expireAfterWrite(ttl)
+                    .recordStats(), remote, evictionBroadcaster));
+        }
+        return new TwoLevelCacheManager(caches);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "catalog.cache.redis.enabled", havingValue = "true")
+    public RedisMessageListenerContainer cacheEvictionListener(RedisConnectionFactory redisConnectionFactory,
+                                                               TwoLevelCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener((message, pattern) -> {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            int separator = body.indexOf(':');
+            if (separator > 0 && !body.substring(0, separator).equals(instanceId)) {
+                cacheManager.clearLocal(body.substring(separator + 1));
+            }
+        }, new ChannelTopic(EVICTION_CHANNEL));
+        return container;
+    }
+
+    // Hit/miss/eviction/size metrics for the local level, under cache.* in /actuator/metrics
+    @Bean
+    public CacheMeterBinderProvider<TwoLevelCache> twoLevelCacheMeterBinderProvider() {
+        return (cache, tags) -> new CaffeineCacheMetrics<>(cache.getNativeCache(), cache.getName(), tags);
+    }
+}
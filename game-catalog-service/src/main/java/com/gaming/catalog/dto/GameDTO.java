@@ -1,13 +1,15 @@
 package com.gaming.catalog.dto;
 
 import lombok.Data;
+
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Set;
 
 @Data
-public class GameDTO {
+public class GameDTO implements Serializable {
     private Long id;
     private String title;
     private String description;
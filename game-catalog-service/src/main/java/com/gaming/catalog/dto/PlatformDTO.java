@@ -2,8 +2,10 @@ package com.gaming.catalog.dto;
 
 import lombok.Data;
 
+import java.io.Serializable;
+
 @Data
-public class PlatformDTO {
+public class PlatformDTO implements Serializable {
     private Long id;
     private String name;
 }
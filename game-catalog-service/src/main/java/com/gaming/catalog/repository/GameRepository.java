@@ -2,21 +2,63 @@ package com.gaming.catalog.repository;
 
 import com.gaming.catalog.entity.Game;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Paged listings are loaded in two phases: a page of ids (paginated and counted in SQL, no joins that could
+ * multiply rows), then the games of that page with their genres and platforms in a single fetch query.
+ * A page therefore costs the same few statements whatever its size, instead of two extra queries per game.
+ */
 @Repository
 public interface GameRepository extends JpaRepository<Game, Long> {
 
-    @Query("SELECT g FROM Game g LEFT JOIN g.genres genre LEFT JOIN g.platforms platform " +
-           "WHERE (CAST(:title AS string) IS NULL OR LOWER(g.title) LIKE LOWER(CONCAT('%', CAST(:title AS string), '%'))) " +
-           "AND (CAST(:genre AS string) IS NULL OR LOWER(genre.name) = LOWER(CAST(:genre AS string))) " +
-           "AND (CAST(:platform AS string) IS NULL OR LOWER(platform.name) = LOWER(CAST(:platform AS string)))")
-    Page<Game> searchGames(@Param("title") String title,
-                           @Param("genre") String genre,
-                           @Param("platform") String platform,
-                           Pageable pageable);
+    String SEARCH_FILTER = "WHERE (CAST(:title AS string) IS NULL OR LOWER(g.title) LIKE LOWER(CONCAT('%', CAST(:title AS string), '%'))) " +
+            "AND (CAST(:genre AS string) IS NULL OR EXISTS (SELECT 1 FROM g.genres genre " +
+            "WHERE LOWER(genre.name) = LOWER(CAST(:genre AS string)))) " +
+            "AND (CAST(:platform AS string) IS NULL OR EXISTS (SELECT 1 FROM g.platforms platform " +
+            "WHERE LOWER(platform.name) = LOWER(CAST(:platform AS string))))";
+
+    @Query(value = "SELECT g.id FROM Game g " + SEARCH_FILTER,
+           countQuery = "SELECT COUNT(g) FROM Game g " + SEARCH_FILTER)
+    Page<Long> searchGameIds(@Param("title") String title,
+                             @Param("genre") String genre,
+                             @Param("platform") String platform,
+                             Pageable pageable);
+
+    @Query(value = "SELECT g.id FROM Game g", countQuery = "SELECT COUNT(g) FROM Game g")
+    Page<Long> findAllIds(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"genres", "platforms"})
+    @Query("SELECT g FROM Game g WHERE g.id IN :ids")
+    List<Game> findAllWithAssociationsByIdIn(@Param("ids") Collection<Long> ids);
+
+    default Page<Game> searchGames(String title, String genre, String platform, Pageable pageable) {
+        return withAssociations(searchGameIds(title, genre, platform, pageable));
+    }
+
+    default Page<Game> findAllWithAssociations(Pageable pageable) {
+        return withAssociations(findAllIds(pageable));
+    }
+
+    private Page<Game> withAssociations(Page<Long> ids) {
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), ids.getPageable(), ids.getTotalElements());
+        }
+        // The fetch query does not keep the page order
+        Map<Long, Game> games = findAllWithAssociationsByIdIn(ids.getContent()).stream()
+                .collect(Collectors.toMap(Game::getId, Function.identity()));
+        return ids.map(games::get);
+    }
 }
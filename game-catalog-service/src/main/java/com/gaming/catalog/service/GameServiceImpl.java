@@ -1,5 +1,6 @@
 package com.gaming.catalog.service;
 
+import com.gaming.catalog.config.CacheConfig;
 import com.gaming.catalog.dto.GameDTO;
 import com.gaming.catalog.dto.GameRequestDTO;
 import com.gaming.catalog.entity.Game;
@@ -11,6 +12,9 @@ import com.gaming.catalog.repository.GameRepository;
 import com.gaming.catalog.repository.GenreRepository;
 import com.gaming.catalog.repository.PlatformRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -29,14 +33,18 @@ public class GameServiceImpl implements GameService {
     private final PlatformRepository platformRepository;
     private final GameMapper gameMapper;
 
+    // Only the first page of each size/sort is cached: it takes most of the traffic
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.GAME_PAGES, key = "#pageable",
+            condition = "#pageable.paged and #pageable.pageNumber == 0", sync = true)
     public Page<GameDTO> getAllGames(Pageable pageable) {
-        return gameRepository.findAll(pageable).map(gameMapper::toDto);
+        return gameRepository.findAllWithAssociations(pageable).map(gameMapper::toDto);
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.GAMES, key = "#id", sync = true)
     public GameDTO getGameById(Long id) {
         return gameRepository.findById(id)
                 .map(gameMapper::toDto)
@@ -51,6 +59,7 @@ public class GameServiceImpl implements GameService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.GAME_PAGES, allEntries = true)
     public GameDTO createGame(GameRequestDTO requestDTO) {
         Game game = gameMapper.toEntity(requestDTO);
         setGenresAndPlatforms(game, requestDTO);
@@ -60,6 +69,10 @@ public class GameServiceImpl implements GameService {
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.GAMES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.GAME_PAGES, allEntries = true)
+    })
     public GameDTO updateGame(Long id, GameRequestDTO requestDTO) {
         Game game = gameRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Game not found with id: " + id));
@@ -73,6 +86,10 @@ public class GameServiceImpl implements GameService {
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.GAMES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.GAME_PAGES, allEntries = true)
+    })
     public void deleteGame(Long id) {
         if (!gameRepository.existsById(id)) {
             throw new ResourceNotFoundException("Game not found with id: " + id);
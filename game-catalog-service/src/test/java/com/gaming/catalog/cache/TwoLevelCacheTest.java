@@ -0,0 +1,58 @@
+package com.gaming.catalog.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TwoLevelCacheTest {
+
+    private final Cache remote = new ConcurrentMapCache("games");
+    private final List<String> broadcasts = new ArrayList<>();
+    private final TwoLevelCache cache = new TwoLevelCache("games", Caffeine.newBuilder(), remote, broadcasts::add);
+
+    @Test
+    void get_ShouldFallBackToTheSecondLevelBeforeLoading() {
+        remote.put(1L, "warm");
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("warm", cache.get(1L, () -> "loaded-" + loads.incrementAndGet()));
+        assertEquals("loaded-1", cache.get(2L, () -> "loaded-" + loads.incrementAndGet()));
+
+        assertEquals(1, loads.get());
+        // Loaded values are shared with the other instances
+        assertEquals("loaded-1", remote.get(2L).get());
+    }
+
+    @Test
+    void evict_ShouldDropBothLevelsAndNotifyOtherInstances() {
+        cache.put(1L, "value");
+
+        cache.evict(1L);
+
+        assertNull(cache.get(1L));
+        assertNull(remote.get(1L));
+        assertEquals(List.of("games"), broadcasts);
+    }
+
+    @Test
+    void get_ShouldLoadFromTheDatabaseWhenTheSecondLevelIsDown() {
+        Cache failing = mock(Cache.class);
+        when(failing.get(any())).thenThrow(new IllegalStateException("Redis down"));
+        TwoLevelCache degraded = new TwoLevelCache("games", Caffeine.newBuilder(), failing, name -> {
+        });
+
+        assertEquals("loaded", degraded.get(1L, () -> "loaded"));
+        assertEquals("loaded", degraded.get(1L).get());
+    }
+}
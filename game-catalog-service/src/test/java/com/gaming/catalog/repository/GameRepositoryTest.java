@@ -3,13 +3,17 @@ package com.gaming.catalog.repository;
 import com.gaming.catalog.entity.Game;
 import com.gaming.catalog.entity.Genre;
 import com.gaming.catalog.entity.Platform;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.PostgreSQLContainer;
@@ -22,7 +26,7 @@ import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @Testcontainers
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 class GameRepositoryTest {
@@ -46,16 +50,22 @@ class GameRepositoryTest {
     @Autowired
     private PlatformRepository platformRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Genre action;
+    private Platform pc;
+
     @BeforeEach
     void setUp() {
         gameRepository.deleteAll();
         genreRepository.deleteAll();
         platformRepository.deleteAll();
 
-        Genre action = genreRepository.save(Genre.builder().name("Action").build());
+        action = genreRepository.save(Genre.builder().name("Action").build());
         Genre rpg = genreRepository.save(Genre.builder().name("RPG").build());
 
-        Platform pc = platformRepository.save(Platform.builder().name("PC").build());
+        pc = platformRepository.save(Platform.builder().name("PC").build());
         Platform ps5 = platformRepository.save(Platform.builder().name("PS5").build());
 
         gameRepository.save(Game.builder()
@@ -96,4 +106,54 @@ class GameRepositoryTest {
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getContent().get(0).getTitle()).isEqualTo("The Witcher 3");
     }
+
+    @Test
+    void findAllWithAssociations_ShouldLoadAPageWithAFixedNumberOfStatements() {
+        saveMoreGames(8);
+        Statistics statistics = freshStatistics();
+
+        Page<Game> result = gameRepository.findAllWithAssociations(PageRequest.of(0, 5, Sort.by("title")));
+        result.forEach(game -> assertThat(game.getGenres().size() + game.getPlatforms().size()).isPositive());
+
+        assertThat(result.getContent()).hasSize(5);
+        assertThat(result.getTotalElements()).isEqualTo(10);
+        assertThat(result.getContent()).extracting(Game::getTitle).isSorted();
+        // Page of ids, count, then the page's games with genres and platforms: not 2 more per game
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void searchGames_ShouldLoadAPageWithAFixedNumberOfStatements() {
+        saveMoreGames(8);
+        Statistics statistics = freshStatistics();
+
+        Page<Game> result = gameRepository.searchGames(null, "Action", null, PageRequest.of(0, 4, Sort.by("title")));
+        result.forEach(game -> assertThat(game.getGenres()).extracting(Genre::getName).contains("Action"));
+
+        assertThat(result.getContent()).hasSize(4);
+        // The Witcher 3 has two platforms: it must still be counted once
+        assertThat(result.getTotalElements()).isEqualTo(9);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    private void saveMoreGames(int count) {
+        for (int i = 0; i < count; i++) {
+            gameRepository.save(Game.builder()
+                    .title("Game " + i)
+                    .price(new BigDecimal("9.99"))
+                    .genres(Set.of(action))
+                    .platforms(Set.of(pc))
+                    .build());
+        }
+    }
+
+    // Flushes pending inserts and empties the persistence context, so that reads really hit the database
+    private Statistics freshStatistics() {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
 }
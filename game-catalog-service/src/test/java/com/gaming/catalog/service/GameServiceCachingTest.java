@@ -0,0 +1,112 @@
+package com.gaming.catalog.service;
+
+import com.gaming.catalog.config.CacheConfig;
+import com.gaming.catalog.dto.GameDTO;
+import com.gaming.catalog.dto.GameRequestDTO;
+import com.gaming.catalog.entity.Game;
+import com.gaming.catalog.mapper.GameMapper;
+import com.gaming.catalog.repository.GameRepository;
+import com.gaming.catalog.repository.GenreRepository;
+import com.gaming.catalog.repository.PlatformRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(classes = {GameServiceImpl.class, CacheConfig.class})
+class GameServiceCachingTest {
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockBean
+    private GameRepository gameRepository;
+    @MockBean
+    private GenreRepository genreRepository;
+    @MockBean
+    private PlatformRepository platformRepository;
+    @MockBean
+    private GameMapper gameMapper;
+
+    private Game game;
+    private GameDTO gameDTO;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        game = new Game();
+        game.setId(1L);
+        game.setTitle("Test Game");
+
+        gameDTO = new GameDTO();
+        gameDTO.setId(1L);
+        gameDTO.setTitle("Test Game");
+
+        when(gameRepository.findById(1L)).thenReturn(Optional.of(game));
+        when(gameRepository.findAllWithAssociations(any(PageRequest.class))).thenReturn(new PageImpl<>(List.of(game)));
+        when(gameMapper.toDto(game)).thenReturn(gameDTO);
+    }
+
+    @Test
+    void getGameById_ShouldReadTheDatabaseOnce() {
+        gameService.getGameById(1L);
+        GameDTO result = gameService.getGameById(1L);
+
+        assertEquals("Test Game", result.getTitle());
+        verify(gameRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void getAllGames_ShouldCacheOnlyTheFirstPage() {
+        gameService.getAllGames(PageRequest.of(0, 20));
+        gameService.getAllGames(PageRequest.of(0, 20));
+        gameService.getAllGames(PageRequest.of(1, 20));
+        gameService.getAllGames(PageRequest.of(1, 20));
+
+        verify(gameRepository, times(1)).findAllWithAssociations(PageRequest.of(0, 20));
+        verify(gameRepository, times(2)).findAllWithAssociations(PageRequest.of(1, 20));
+    }
+
+    @Test
+    void updateGame_ShouldEvictTheGameAndTheCachedPages() {
+        when(gameRepository.save(game)).thenReturn(game);
+        gameService.getGameById(1L);
+        gameService.getAllGames(PageRequest.of(0, 20));
+
+        gameService.updateGame(1L, new GameRequestDTO());
+        gameService.getGameById(1L);
+        gameService.getAllGames(PageRequest.of(0, 20));
+
+        // One read before the update, one by the update itself, one after it
+        verify(gameRepository, times(3)).findById(1L);
+        verify(gameRepository, times(2)).findAllWithAssociations(PageRequest.of(0, 20));
+    }
+
+    @Test
+    void deleteGame_ShouldEvictTheGame() {
+        when(gameRepository.existsById(1L)).thenReturn(true);
+        gameService.getGameById(1L);
+
+        gameService.deleteGame(1L);
+        gameService.getGameById(1L);
+
+        verify(gameRepository, times(2)).findById(1L);
+    }
+}
@@ -0,0 +1,79 @@
+// Test di carico k6 su GET /api/leaderboard/top/{gameId}: quante connessioni concorrenti regge il servizio
+// con i thread di piattaforma di Tomcat e con il profilo virtual-threads.
+//
+//   k6 run -e TOKEN=<access token> infra/load-tests/top-scores.js
+//   k6 run -e USERNAME=<utente> -e PASSWORD=<password> -e MAX_VUS=4000 infra/load-tests/top-scores.js
+//
+// Variabili: BASE_URL, GAME_ID, MAX_VUS (utenti virtuali al picco), THINK_TIME (secondi tra due richieste
+// dello stesso utente), BYPASS_CACHE (true: salta la cache dei top score e legge sempre Redis),
+// KEYCLOAK_URL, CLIENT_ID, USERNAME, PASSWORD (token via password grant se TOKEN non è impostato).
+import http from 'k6/http';
+import encoding from 'k6/encoding';
+import { check, sleep } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8083';
+const GAME_ID = __ENV.GAME_ID || 'snake-game';
+const MAX_VUS = parseInt(__ENV.MAX_VUS || '2000', 10);
+const THINK_TIME = parseFloat(__ENV.THINK_TIME || '1');
+const BYPASS_CACHE = __ENV.BYPASS_CACHE !== 'false';
+const KEYCLOAK_URL = __ENV.KEYCLOAK_URL || 'http://localhost:8080';
+const CLIENT_ID = __ENV.CLIENT_ID || 'gaming-frontend';
+
+// Il cursore della prima pagina ("o:0") dà lo stesso risultato senza passare dalla cache
+const FIRST_PAGE_CURSOR = encoding.b64encode('o:0', 'rawurl');
+
+export const options = {
+  scenarios: {
+    ramp: {
+      executor: 'ramping-vus',
+      startVUs: 0,
+      stages: [
+        { duration: '30s', target: Math.ceil(MAX_VUS / 4) },
+        { duration: '30s', target: Math.ceil(MAX_VUS / 2) },
+        { duration: '30s', target: MAX_VUS },
+        { duration: '1m', target: MAX_VUS },
+        { duration: '15s', target: 0 },
+      ],
+      gracefulRampDown: '10s',
+    },
+  },
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+    http_req_duration: ['p(95)<500'],
+  },
+  summaryTrendStats: ['avg', 'med', 'p(90)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+  if (__ENV.TOKEN) {
+    return { token: __ENV.TOKEN };
+  }
+  if (!__ENV.USERNAME || !__ENV.PASSWORD) {
+    throw new Error('Imposta TOKEN oppure USERNAME e PASSWORD');
+  }
+  const response = http.post(`${KEYCLOAK_URL}/realms/myrealm/protocol/openid-connect/token`, {
+    grant_type: 'password',
+    client_id: CLIENT_ID,
+    username: __ENV.USERNAME,
+    password: __ENV.PASSWORD,
+  });
+  if (response.status !== 200) {
+    throw new Error(`Token non ottenuto da Keycloak: ${response.status} ${response.body}`);
+  }
+  // Il test deve durare meno della validità del token
+  return { token: response.json('access_token') };
+}
+
+export default function (data) {
+  const params = { limit: 10 };
+  if (BYPASS_CACHE) {
+    params.cursor = FIRST_PAGE_CURSOR;
+  }
+  const query = Object.entries(params).map(([key, value]) => `${key}=${value}`).join('&');
+  const response = http.get(`${BASE_URL}/api/leaderboard/top/${GAME_ID}?${query}`, {
+    headers: { Authorization: `Bearer ${data.token}` },
+    tags: { name: 'GET /api/leaderboard/top/{gameId}' },
+  });
+  check(response, { 'status 200': (r) => r.status === 200 });
+  sleep(THINK_TIME);
+}
@@ -0,0 +1,273 @@
+package com.gaming.leaderboard.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gaming.leaderboard.dto.UserProfileDTO;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Client for user-profile-service. Resolves usernames in bulk through {@code POST /api/v1/users/batch}.
+ * Large lookups are split into chunks that are sent concurrently (at most {@code max-concurrency} at a time)
+ * on a non-blocking HTTP client, and the whole lookup is bounded by a deadline, so a page costs about one
+ * round trip however many names it needs. Calls go through a circuit breaker: while user-profile-service is
+ * failing or slow they fail at once and {@link UsernameResolver} falls back to cached names.
+ */
+@Component
+@Slf4j
+public class UserProfileClient {
+
+    /**
+     * Usernames found by user-profile-service, and the user ids whose lookup failed or missed the deadline
+     * (as opposed to ids it does not know, which are in neither).
+     */
+    public record UsernameLookup(Map<String, String> usernames, Set<String> failed) {
+    }
+
+    private final CloseableHttpAsyncClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String userProfileUrl;
+    private final int chunkSize;
+    private final int maxConcurrency;
+    private final Duration deadline;
+    private final CircuitBreaker circuitBreaker;
+
+    public UserProfileClient(CloseableHttpAsyncClient serviceHttpClient,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${services.user-profile.url:http://localhost:8081}") String userProfileUrl,
+                             @Value("${services.user-profile.lookup.chunk-size:25}") int chunkSize,
+                             @Value("${services.user-profile.lookup.max-concurrency:4}") int maxConcurrency,
+                             @Value("${services.user-profile.lookup.deadline:1500ms}") Duration deadline,
+                             @Value("${services.user-profile.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+                             @Value("${services.user-profile.circuit-breaker.slow-call-duration:1s}") Duration slowCallDuration,
+                             @Value("${services.user-profile.circuit-breaker.slow-call-rate-threshold:80}") float slowCallRateThreshold,
+                             @Value("${services.user-profile.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+                             @Value("${services.user-profile.circuit-breaker.minimum-calls:10}") int minimumCalls,
+                             @Value("${services.user-profile.circuit-breaker.open-duration:10s}") Duration openDuration) {
+        this.httpClient = serviceHttpClient;
+        this.objectMapper = objectMapper;
+        this.userProfileUrl = userProfileUrl;
+        this.chunkSize = chunkSize;
+        this.maxConcurrency = maxConcurrency;
+        this.deadline = deadline;
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallDuration)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .waitDurationInOpenState(openDuration)
+                .permittedNumberOfCallsInHalfOpenState(3)
+                // A 4xx answer means user-profile-service is up
+                .ignoreExceptions(HttpClientErrorException.class)
+                .build());
+        this.circuitBreaker = registry.circuitBreaker("user-profile");
+        this.circuitBreaker.getEventPublisher().onStateTransition(event ->
+                log.warn("user-profile-service circuit breaker: {}", event.getStateTransition()));
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+    }
+
+    /**
+     * Resolves the usernames of the given leaderboard user ids (emails or profile UUIDs). Never throws for
+     * lookup failures: ids that could not be resolved in time are reported in {@link UsernameLookup#failed()}.
+     */
+    public UsernameLookup fetchUsernames(Collection<? extends String> userIds) {
+        List<String> lookups = new ArrayList<>();
+        for (String userId : userIds) {
+            // Se userId è un email, lo cerchiamo via email, altrimenti come UUID del profilo
+            if (userId.contains("@") || isUuid(userId)) {
+                lookups.add(userId);
+            } else {
+                log.debug("Skipping username lookup for non-UUID userId {}", userId);
+            }
+        }
+
+        if (lookups.isEmpty()) {
+            return new UsernameLookup(Map.of(), Set.of());
+        }
+        Map<String, String> usernames = new ConcurrentHashMap<>();
+        // Ids whose chunk was answered, found or not; added after the chunk's usernames
+        Set<String> answered = ConcurrentHashMap.newKeySet();
+
+        List<List<String>> chunks = new ArrayList<>();
+        for (int i = 0; i < lookups.size(); i += chunkSize) {
+            chunks.add(lookups.subList(i, Math.min(i + chunkSize, lookups.size())));
+        }
+
+        // Lane i sends chunks i, i + lanes, ... one after the other: at most `lanes` requests in flight
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+        int lanes = Math.min(maxConcurrency, chunks.size());
+        List<CompletableFuture<Void>> laneFutures = new ArrayList<>(lanes);
+        for (int lane = 0; lane < lanes; lane++) {
+            CompletableFuture<Void> laneFuture = CompletableFuture.completedFuture(null);
+            for (int c = lane; c < chunks.size(); c += lanes) {
+                List<String> chunk = chunks.get(c);
+                laneFuture = laneFuture.thenCompose(ignored -> {
+                    if (System.nanoTime() >= deadlineNanos) {
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    return fetchChunk(chunk).handle((users, error) -> {
+                        if (error != null) {
+                            logFailure(chunk.size(), error);
+                        } else {
+                            collect(chunk, users, usernames);
+                            answered.addAll(chunk);
+                        }
+                        return null;
+                    });
+                });
+            }
+            laneFutures.add(laneFuture);
+        }
+
+        try {
+            CompletableFuture.allOf(laneFutures.toArray(new CompletableFuture[0]))
+                    .get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Username lookup of {} users missed its {} ms deadline", lookups.size(), deadline.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // Not expected: chunk failures are handled per chunk
+            log.warn("Username lookup failed: {}", e.getMessage());
+        }
+
+        // Whatever has not been answered by now counts as failed, even if it arrives later. The answered ids
+        // are read before the usernames, so every answered id that was found has its username in the copy
+        Set<String> answeredNow = Set.copyOf(answered);
+        Map<String, String> found = Map.copyOf(usernames);
+        Set<String> failed = new HashSet<>();
+        for (String userId : lookups) {
+            if (!answeredNow.contains(userId)) {
+                failed.add(userId);
+            }
+        }
+        return new UsernameLookup(found, failed);
+    }
+
+    private CompletableFuture<UserProfileDTO[]> fetchChunk(List<String> chunk) {
+        return circuitBreaker.executeCompletionStage(() -> post(chunk)).toCompletableFuture();
+    }
+
+    private CompletableFuture<UserProfileDTO[]> post(List<String> chunk) {
+        List<String> ids = new ArrayList<>();
+        List<String> emails = new ArrayList<>();
+        for (String userId : chunk) {
+            (userId.contains("@") ? emails : ids).add(userId);
+        }
+
+        SimpleHttpRequest request;
+        try {
+            request = SimpleRequestBuilder.post(userProfileUrl + "/api/v1/users/batch")
+                    .setBody(objectMapper.writeValueAsBytes(Map.of("ids", ids, "emails", emails)),
+                            ContentType.APPLICATION_JSON)
+                    .build();
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<UserProfileDTO[]> result = new CompletableFuture<>();
+        httpClient.execute(request, new FutureCallback<>() {
+            @Override
+            public void completed(SimpleHttpResponse response) {
+                try {
+                    result.complete(read(response));
+                } catch (RuntimeException | IOException e) {
+                    result.completeExceptionally(e);
+                }
+            }
+
+            @Override
+            public void failed(Exception e) {
+                result.completeExceptionally(new ResourceAccessException(
+                        "user-profile-service unreachable: " + e.getMessage(), e instanceof IOException io ? io : null));
+            }
+
+            @Override
+            public void cancelled() {
+                result.cancel(false);
+            }
+        });
+        return result;
+    }
+
+    private UserProfileDTO[] read(SimpleHttpResponse response) throws IOException {
+        int status = response.getCode();
+        byte[] body = response.getBodyBytes() == null ? new byte[0] : response.getBodyBytes();
+        if (status >= 400) {
+            HttpStatusCode code = HttpStatusCode.valueOf(status);
+            throw status >= 500
+                    ? HttpServerErrorException.create(code, response.getReasonPhrase(), HttpHeaders.EMPTY, body, StandardCharsets.UTF_8)
+                    : HttpClientErrorException.create(code, response.getReasonPhrase(), HttpHeaders.EMPTY, body, StandardCharsets.UTF_8);
+        }
+        return body.length == 0 ? new UserProfileDTO[0] : objectMapper.readValue(body, UserProfileDTO[].class);
+    }
+
+    private void collect(List<String> chunk, UserProfileDTO[] users, Map<String, String> usernames) {
+        for (UserProfileDTO user : users) {
+            if (user.getUsername() == null) {
+                continue;
+            }
+            if (user.getEmail() != null && chunk.contains(user.getEmail())) {
+                usernames.put(user.getEmail(), user.getUsername());
+            }
+            if (user.getId() != null) {
+                usernames.put(user.getId(), user.getUsername());
+            }
+        }
+    }
+
+    private void logFailure(int users, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause() : error;
+        if (cause instanceof CallNotPermittedException) {
+            log.debug("Username lookup of {} users skipped, circuit breaker open", users);
+        } else {
+            log.warn("Username lookup of {} users failed: {}", users, cause.getMessage());
+        }
+    }
+
+    private static boolean isUuid(String value) {
+        try {
+            UUID.fromString(value);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.gaming.leaderboard.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bounded in-process cache of usernames in front of {@link UserProfileClient}.
+ * Users unknown to user-profile-service are cached as short-lived negative entries,
+ * so a missing profile does not cost a REST call on every leaderboard read.
+ */
+@Component
+@Slf4j
+public class UsernameResolver {
+
+    public static final String UNKNOWN_USERNAME = "Unknown";
+
+    // Marker stored for users that user-profile-service does not know
+    private static final String NOT_FOUND = "";
+
+    private final UserProfileClient userProfileClient;
+    private final Cache<String, String> cache;
+
+    public UsernameResolver(UserProfileClient userProfileClient,
+                            MeterRegistry meterRegistry,
+                            @Value("${leaderboard.username-cache.maximum-size:10000}") long maximumSize,
+                            @Value("${leaderboard.username-cache.ttl:10m}") Duration ttl,
+                            @Value("${leaderboard.username-cache.negative-ttl:30s}") Duration negativeTtl) {
+        this.userProfileClient = userProfileClient;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, String>() {
+                    @Override
+                    public long expireAfterCreate(String key, String value, long currentTime) {
+                        return (NOT_FOUND.equals(value) ? negativeTtl : ttl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, String value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, String value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "usernames");
+    }
+
+    /**
+     * Returns a username for every given user id, calling user-profile-service only for cache misses.
+     * Users that cannot be resolved are mapped to {@link #UNKNOWN_USERNAME}.
+     */
+    public Map<String, String> resolve(Collection<String> userIds) {
+        Map<String, String> cached;
+        try {
+            cached = cache.getAll(userIds, this::load);
+        } catch (Exception e) {
+            // Lookup failures are not cached: the next read will try again
+            log.warn("Could not fetch usernames for {} users: {}", userIds.size(), e.getMessage());
+            cached = cache.getAllPresent(userIds);
+        }
+
+        Map<String, String> usernames = new HashMap<>();
+        for (String userId : userIds) {
+            String username = cached.get(userId);
+            usernames.put(userId, username == null || NOT_FOUND.equals(username) ? UNKNOWN_USERNAME : username);
+        }
+        return usernames;
+    }
+
+    private Map<String, String> load(Set<? extends String> misses) {
+        UserProfileClient.UsernameLookup fetched = userProfileClient.fetchUsernames(misses);
+        Map<String, String> loaded = new HashMap<>();
+        for (String userId : misses) {
+            String username = fetched.usernames().get(userId);
+            if (username != null) {
+                loaded.put(userId, username);
+            } else if (!fetched.failed().contains(userId)) {
+                loaded.put(userId, NOT_FOUND);
+            }
+            // Failed lookups are left out, so they are not cached and the next read tries again
+        }
+        return loaded;
+    }
+}
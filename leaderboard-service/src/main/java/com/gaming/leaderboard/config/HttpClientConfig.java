@@ -0,0 +1,66 @@
+package com.gaming.leaderboard.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.reactor.IOReactorConfig;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Non-blocking HTTP client for calls to other services: requests are multiplexed on a few I/O threads, so
+ * lookups can be issued concurrently without a thread each. Pooled keep-alive connections with per-route
+ * limits and connect/read/pool-wait timeouts, so a slow user-profile-service can no longer hold request threads.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpAsyncClient serviceHttpClient(
+            MeterRegistry meterRegistry,
+            @Value("${services.http-client.max-connections:100}") int maxConnections,
+            @Value("${services.http-client.max-connections-per-route:20}") int maxConnectionsPerRoute,
+            @Value("${services.http-client.connect-timeout:1s}") Duration connectTimeout,
+            @Value("${services.http-client.read-timeout:2s}") Duration readTimeout,
+            @Value("${services.http-client.pool-timeout:500ms}") Duration poolTimeout,
+            @Value("${services.http-client.connection-ttl:5m}") Duration connectionTtl,
+            @Value("${services.http-client.idle-timeout:30s}") Duration idleTimeout,
+            @Value("${services.http-client.io-threads:2}") int ioThreads) {
+        PoolingAsyncClientConnectionManager connectionManager = PoolingAsyncClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setTimeToLive(TimeValue.of(connectionTtl))
+                        // Re-check connections idle this long before reuse (the server may have closed them)
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "services").bindTo(meterRegistry);
+
+        CloseableHttpAsyncClient client = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setIOReactorConfig(IOReactorConfig.custom().setIoThreadCount(ioThreads).build())
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        // Waiting for a free pooled connection counts against the caller too
+                        .setConnectionRequestTimeout(Timeout.of(poolTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleTimeout))
+                .build();
+        client.start();
+        return client;
+    }
+}
@@ -1,12 +1,19 @@
 package com.gaming.leaderboard.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.time.Clock;
+import java.time.ZoneId;
+import java.util.List;
+
 @Configuration
 public class RedisConfig {
 
@@ -21,4 +28,27 @@ public class RedisConfig {
         template.afterPropertiesSet();
         return template;
     }
+
+    @Bean
+    @SuppressWarnings("rawtypes")
+    public RedisScript<List> leaderboardRangeScript() {
+        return RedisScript.of(new ClassPathResource("scripts/leaderboard_range.lua"), List.class);
+    }
+
+    @Bean
+    @SuppressWarnings("rawtypes")
+    public RedisScript<List> submitScoreScript() {
+        return RedisScript.of(new ClassPathResource("scripts/submit_score.lua"), List.class);
+    }
+
+    @Bean
+    public RedisScript<Long> replaceLeaderboardScript() {
+        return RedisScript.of(new ClassPathResource("scripts/replace_leaderboard.lua"), Long.class);
+    }
+
+    // Decides which daily/weekly/monthly leaderboard a submission belongs to
+    @Bean
+    public Clock leaderboardClock(@Value("${leaderboard.windows.zone:UTC}") ZoneId zone) {
+        return Clock.system(zone);
+    }
 }
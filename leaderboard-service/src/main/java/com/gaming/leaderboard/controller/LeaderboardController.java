@@ -1,16 +1,40 @@
 package com.gaming.leaderboard.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.gaming.leaderboard.dto.BatchScoreSubmissionDTO;
 import com.gaming.leaderboard.dto.LeaderboardEntryDTO;
+import com.gaming.leaderboard.dto.LeaderboardPageDTO;
+import com.gaming.leaderboard.dto.PlayerRankDTO;
+import com.gaming.leaderboard.dto.ScoreHistoryPageDTO;
 import com.gaming.leaderboard.dto.ScoreResponseDTO;
 import com.gaming.leaderboard.dto.ScoreSubmissionDTO;
+import com.gaming.leaderboard.dto.UserGameStatsDTO;
+import com.gaming.leaderboard.live.LiveLeaderboardHub;
+import com.gaming.leaderboard.model.LeaderboardWindow;
 import com.gaming.leaderboard.service.LeaderboardService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -18,7 +42,13 @@ import java.util.List;
 @RequiredArgsConstructor
 public class LeaderboardController {
 
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final LeaderboardService leaderboardService;
+    // Absent when leaderboard.live.enabled=false
+    private final ObjectProvider<LiveLeaderboardHub> liveLeaderboardHub;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/scores")
     @ResponseStatus(HttpStatus.CREATED)
@@ -31,25 +61,148 @@ public class LeaderboardController {
         return leaderboardService.submitScore(userId, username, submission);
     }
 
+    // End-of-match results posted by dedicated game servers (GAME_SERVER role, see SecurityConfig).
+    // One result per entry, in the same order, with previousBest / personalBest / rank
+    @PostMapping("/scores/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<ScoreResponseDTO> submitScores(@Valid @RequestBody BatchScoreSubmissionDTO submission) {
+        return leaderboardService.submitScores(submission.getEntries());
+    }
+
+    // window: all (default), daily, weekly or monthly.
+    // The next page, if any, is announced through the X-Next-Cursor header so the body stays a plain list.
+    // Strong ETag: clients that send If-None-Match get a 304 without a body while the page is unchanged
     @GetMapping("/top/{gameId}")
-    public List<LeaderboardEntryDTO> getTopScores(
+    public ResponseEntity<List<LeaderboardEntryDTO>> getTopScores(
+            @PathVariable String gameId,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(MAX_PAGE_SIZE) int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "all") String window,
+            WebRequest request) {
+        LeaderboardPageDTO page = leaderboardService.getScoresPage(
+                gameId, LeaderboardWindow.fromParam(window), limit, cursor);
+        String etag = etag(page);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(etag);
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getEntries());
+    }
+
+    private static String etag(LeaderboardPageDTO page) {
+        StringBuilder content = new StringBuilder();
+        for (LeaderboardEntryDTO entry : page.getEntries()) {
+            content.append(entry.getRank()).append('\u0000')
+                    .append(entry.getUserId()).append('\u0000')
+                    .append(entry.getUsername()).append('\u0000')
+                    .append(entry.getScore()).append('\n');
+        }
+        content.append(page.getNextCursor());
+        return "\"" + DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    // Server-Sent Events: a "snapshot" of the all-time top N, then a "diff" (updated entries, removed user ids)
+    // at most once per tick while the leaderboard changes
+    @GetMapping(path = "/stream/{gameId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamLeaderboard(@PathVariable String gameId) {
+        LiveLeaderboardHub hub = liveLeaderboardHub.getIfAvailable();
+        if (hub == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Live leaderboards are disabled");
+        }
+        return hub.subscribe(gameId);
+    }
+
+    @GetMapping("/rank/{gameId}")
+    public ResponseEntity<PlayerRankDTO> getPlayerRank(
+            @AuthenticationPrincipal Jwt jwt,
             @PathVariable String gameId,
-            @RequestParam(defaultValue = "10") int limit) {
-        return leaderboardService.getTopScores(gameId, limit);
+            @RequestParam(defaultValue = "5") @Min(0) @Max(50) int neighbours,
+            @RequestParam(defaultValue = "all") String window) {
+        String userId = jwt.getClaimAsString("email");
+        return ResponseEntity.of(leaderboardService.getPlayerRank(
+                gameId, LeaderboardWindow.fromParam(window), userId, neighbours));
     }
 
+    // History pages follow the same X-Next-Cursor convention as /top.
+    // With Accept: application/x-ndjson the whole history is streamed instead, one JSON object per line.
     @GetMapping("/history/{gameId}")
-    public List<ScoreResponseDTO> getUserHistory(
+    public ResponseEntity<List<ScoreResponseDTO>> getUserHistory(
+            @AuthenticationPrincipal Jwt jwt,
+            @PathVariable String gameId,
+            @RequestParam(defaultValue = "50") @Min(1) @Max(MAX_PAGE_SIZE) int limit,
+            @RequestParam(required = false) String cursor) {
+        String userId = jwt.getClaimAsString("email");
+        return historyPage(leaderboardService.getUserHistory(userId, gameId, limit, cursor));
+    }
+
+    @GetMapping(value = "/history/{gameId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamUserHistory(
             @AuthenticationPrincipal Jwt jwt,
             @PathVariable String gameId) {
         String userId = jwt.getClaimAsString("email");
-        return leaderboardService.getUserHistory(userId, gameId);
+        return historyStream(userId, gameId);
     }
 
     @GetMapping("/history")
-    public List<ScoreResponseDTO> getAllUserHistory(
+    public ResponseEntity<List<ScoreResponseDTO>> getAllUserHistory(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestParam(defaultValue = "50") @Min(1) @Max(MAX_PAGE_SIZE) int limit,
+            @RequestParam(required = false) String cursor) {
+        String userId = jwt.getClaimAsString("email");
+        return historyPage(leaderboardService.getUserHistory(userId, null, limit, cursor));
+    }
+
+    @GetMapping(value = "/history", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllUserHistory(
             @AuthenticationPrincipal Jwt jwt) {
         String userId = jwt.getClaimAsString("email");
-        return leaderboardService.getAllUserHistory(userId);
+        return historyStream(userId, null);
+    }
+
+    @GetMapping("/stats")
+    public List<UserGameStatsDTO> getUserStats(
+            @AuthenticationPrincipal Jwt jwt) {
+        String userId = jwt.getClaimAsString("email");
+        return leaderboardService.getUserStats(userId);
+    }
+
+    @GetMapping("/stats/{gameId}")
+    public ResponseEntity<UserGameStatsDTO> getUserGameStats(
+            @AuthenticationPrincipal Jwt jwt,
+            @PathVariable String gameId) {
+        String userId = jwt.getClaimAsString("email");
+        return ResponseEntity.of(leaderboardService.getUserGameStats(userId, gameId));
+    }
+
+    private ResponseEntity<List<ScoreResponseDTO>> historyPage(ScoreHistoryPageDTO page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getEntries());
+    }
+
+    // Rows are written as they are read from the database cursor; the output stream is flushed by the
+    // generator's buffer, not after every row
+    private ResponseEntity<StreamingResponseBody> historyStream(String userId, String gameId) {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                leaderboardService.streamUserHistory(userId, gameId, score -> {
+                    try {
+                        writer.writeValue(generator, score);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 }
@@ -0,0 +1,26 @@
+package com.gaming.leaderboard.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchScoreEntryDTO {
+    @NotBlank
+    private String userId;
+
+    // Display name; when absent the name already stored for the user is kept (or resolved from user-profile-service)
+    private String username;
+
+    @NotBlank
+    private String gameId;
+
+    @NotNull
+    private Double score;
+}
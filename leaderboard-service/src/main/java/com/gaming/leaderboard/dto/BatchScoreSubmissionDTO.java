@@ -0,0 +1,22 @@
+package com.gaming.leaderboard.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchScoreSubmissionDTO {
+    public static final int MAX_ENTRIES = 500;
+
+    @NotEmpty
+    @Size(max = MAX_ENTRIES)
+    private List<@Valid @NotNull BatchScoreEntryDTO> entries;
+}
@@ -0,0 +1,24 @@
+package com.gaming.leaderboard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LeaderboardDiffDTO {
+    private String gameId;
+    // Entries that entered the top N or whose rank, name or score changed
+    private List<LeaderboardEntryDTO> updated;
+    // Users that dropped out of the top N
+    private List<String> removed;
+
+    public boolean isEmpty() {
+        return updated.isEmpty() && removed.isEmpty();
+    }
+}
@@ -10,6 +10,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Builder
 public class LeaderboardEntryDTO {
+    private Long rank;
     private String userId;
     private String username;
     private Double score;
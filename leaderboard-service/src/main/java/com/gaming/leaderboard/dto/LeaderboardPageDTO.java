@@ -0,0 +1,18 @@
+package com.gaming.leaderboard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LeaderboardPageDTO {
+    private List<LeaderboardEntryDTO> entries;
+    // Null on the last page
+    private String nextCursor;
+}
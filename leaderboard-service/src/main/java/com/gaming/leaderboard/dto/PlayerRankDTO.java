@@ -0,0 +1,21 @@
+package com.gaming.leaderboard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PlayerRankDTO {
+    private String gameId;
+    private String userId;
+    private Long rank;
+    private Double score;
+    // The player's own entry with its neighbours above and below, best first
+    private List<LeaderboardEntryDTO> entries;
+}
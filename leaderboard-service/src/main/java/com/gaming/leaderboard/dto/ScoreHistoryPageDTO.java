@@ -0,0 +1,18 @@
+package com.gaming.leaderboard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScoreHistoryPageDTO {
+    private List<ScoreResponseDTO> entries;
+    // Null on the last page
+    private String nextCursor;
+}
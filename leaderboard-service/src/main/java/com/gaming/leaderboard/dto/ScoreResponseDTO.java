@@ -1,5 +1,6 @@
 package com.gaming.leaderboard.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -18,4 +19,12 @@ public class ScoreResponseDTO {
     private String gameId;
     private Double score;
     private LocalDateTime createdAt;
+
+    // Only set on submission responses
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double previousBest;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean personalBest;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long rank;
 }
@@ -0,0 +1,21 @@
+package com.gaming.leaderboard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserGameStatsDTO {
+    private String gameId;
+    private Double bestScore;
+    private Long gamesPlayed;
+    private Double totalScore;
+    private Double averageScore;
+    private LocalDateTime lastPlayedAt;
+}
@@ -0,0 +1,11 @@
+package com.gaming.leaderboard.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidLeaderboardWindowException extends RuntimeException {
+    public InvalidLeaderboardWindowException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,113 @@
+package com.gaming.leaderboard.kafka;
+
+import com.gaming.leaderboard.repository.ScoreEventOutboxRepository;
+import com.gaming.leaderboard.repository.ScoreEventOutboxRepository.OutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drains {@code score_event_outbox} to Kafka in batches on a background thread. An event is deleted only after
+ * the broker acknowledged it; anything else is published again once its lease expires (at-least-once delivery).
+ * No database transaction is open while waiting for Kafka.
+ */
+@Component
+@Slf4j
+public class ScoreEventOutboxRelay {
+
+    private final ScoreEventOutboxRepository scoreEventOutboxRepository;
+    private final ScoreEventPublisher scoreEventPublisher;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration lease;
+    private final Duration ackTimeout;
+
+    public ScoreEventOutboxRelay(ScoreEventOutboxRepository scoreEventOutboxRepository,
+                                 ScoreEventPublisher scoreEventPublisher,
+                                 @Value("${leaderboard.outbox.enabled:true}") boolean enabled,
+                                 @Value("${leaderboard.outbox.batch-size:500}") int batchSize,
+                                 @Value("${leaderboard.outbox.max-batches-per-run:20}") int maxBatchesPerRun,
+                                 @Value("${leaderboard.outbox.lease:30s}") Duration lease,
+                                 @Value("${leaderboard.outbox.ack-timeout:15s}") Duration ackTimeout) {
+        // Past the lease another instance may claim and publish the same rows while this one still deletes them
+        if (ackTimeout.compareTo(lease) >= 0) {
+            throw new IllegalArgumentException("leaderboard.outbox.ack-timeout (" + ackTimeout
+                    + ") must be shorter than leaderboard.outbox.lease (" + lease + ")");
+        }
+        this.scoreEventOutboxRepository = scoreEventOutboxRepository;
+        this.scoreEventPublisher = scoreEventPublisher;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.lease = lease;
+        this.ackTimeout = ackTimeout;
+    }
+
+    @Scheduled(fixedDelayString = "${leaderboard.outbox.poll-interval-ms:100}")
+    public void relay() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            // Keep going while full batches come back, so a backlog drains without waiting for the next tick
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                if (relayBatch() < batchSize) {
+                    return;
+                }
+            }
+        } catch (DataAccessException e) {
+            log.error("Score event relay could not read the outbox", e);
+        }
+    }
+
+    /**
+     * Publishes one claimed batch and deletes the acknowledged events. Returns the number of events claimed.
+     */
+    int relayBatch() {
+        List<OutboxEvent> batch = scoreEventOutboxRepository.claim(batchSize, lease);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<?>> sends = new ArrayList<>(batch.size());
+        for (OutboxEvent outboxEvent : batch) {
+            sends.add(scoreEventPublisher.publish(outboxEvent.event()));
+        }
+        try {
+            // Waits for the acknowledgements while the lease still holds; unacknowledged events stay in the outbox
+            // and are claimed again once it expires
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                    .get(ackTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            // Failed sends are counted and logged by the publisher; the others are still deleted below
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<UUID> published = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            CompletableFuture<?> send = sends.get(i);
+            if (send.isDone() && !send.isCompletedExceptionally()) {
+                published.add(batch.get(i).id());
+            }
+        }
+        scoreEventOutboxRepository.deleteAll(published);
+        if (published.size() < batch.size()) {
+            log.warn("{} of {} score events were not acknowledged by Kafka and will be retried",
+                    batch.size() - published.size(), batch.size());
+        }
+        return batch.size();
+    }
+}
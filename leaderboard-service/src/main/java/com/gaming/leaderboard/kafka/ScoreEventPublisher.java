@@ -0,0 +1,77 @@
+package com.gaming.leaderboard.kafka;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Publishes {@link ScoreRecordedEvent}s without blocking on the broker acknowledgement; the returned future
+ * completes once the broker has acknowledged the event, or exceptionally if it was dropped. Events are keyed by
+ * user (default) or by game, so all events of one key land on the same partition in order. Batching,
+ * compression and idempotence are producer settings under {@code spring.kafka.producer}.
+ */
+@Component
+@Slf4j
+public class ScoreEventPublisher {
+
+    public static final String TOPIC_SCORE_RECORDED = "score-recorded";
+
+    public enum PartitionKey {
+        USER_ID,
+        GAME_ID
+    }
+
+    private final KafkaTemplate<String, ScoreRecordedEvent> kafkaTemplate;
+    private final PartitionKey partitionKey;
+    private final MeterRegistry meterRegistry;
+    private final Counter droppedCounter;
+
+    public ScoreEventPublisher(KafkaTemplate<String, ScoreRecordedEvent> kafkaTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${leaderboard.events.partition-key:user-id}") PartitionKey partitionKey) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+        this.partitionKey = partitionKey;
+        this.droppedCounter = Counter.builder("leaderboard.events.dropped")
+                .description("Score event sends that failed (outbox events are retried)")
+                .tag("topic", TOPIC_SCORE_RECORDED)
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<?> publish(ScoreRecordedEvent event) {
+        String key = partitionKey == PartitionKey.GAME_ID ? event.getGameId() : event.getUserId();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return kafkaTemplate.send(TOPIC_SCORE_RECORDED, key, event).whenComplete((result, ex) -> {
+                sample.stop(sendTimer(ex == null ? "success" : "failure"));
+                if (ex != null) {
+                    dropped(event, ex);
+                }
+            });
+        } catch (RuntimeException e) {
+            // e.g. metadata not available within max.block.ms, or the producer buffer is full
+            sample.stop(sendTimer("failure"));
+            dropped(event, e);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private Timer sendTimer(String outcome) {
+        return Timer.builder("leaderboard.events.send")
+                .description("Time from send to broker acknowledgement of score events")
+                .tag("topic", TOPIC_SCORE_RECORDED)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private void dropped(ScoreRecordedEvent event, Throwable cause) {
+        droppedCounter.increment();
+        log.error("Kafka send failed for score event of user {} in game {}: {}", event.getUserId(), event.getGameId(), cause.getMessage());
+    }
+}
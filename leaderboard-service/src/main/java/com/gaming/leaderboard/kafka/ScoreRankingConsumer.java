@@ -0,0 +1,74 @@
+package com.gaming.leaderboard.kafka;
+
+import com.gaming.leaderboard.repository.LeaderboardRedisRepository;
+import com.gaming.leaderboard.repository.LeaderboardRedisRepository.ScoreUpdate;
+import com.gaming.leaderboard.service.TopScoresCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ranking worker for {@code leaderboard.ranking.mode: consumer}: builds the Redis leaderboards from the
+ * {@code score-recorded} stream instead of the HTTP submit path. Each poll is applied as one pipelined batch;
+ * instances in the same consumer group share the topic's partitions.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "leaderboard.ranking.mode", havingValue = "consumer")
+public class ScoreRankingConsumer {
+
+    private final LeaderboardRedisRepository leaderboardRedisRepository;
+    private final TopScoresCache topScoresCache;
+
+    @KafkaListener(
+            topics = ScoreEventPublisher.TOPIC_SCORE_RECORDED,
+            groupId = "${leaderboard.ranking.consumer-group:leaderboard-ranking}",
+            concurrency = "${leaderboard.ranking.concurrency:1}",
+            batch = "true")
+    public void onScoresRecorded(List<ConsumerRecord<String, ScoreRecordedEvent>> records) {
+        List<ScoreUpdate> updates = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, ScoreRecordedEvent> record : records) {
+            ScoreRecordedEvent event = record.value();
+            // Null when the value could not be deserialized (see ErrorHandlingDeserializer)
+            if (event == null) {
+                log.warn("Skipping unreadable score event at {}-{}@{}", record.topic(), record.partition(), record.offset());
+                continue;
+            }
+            // A single bad update would fail the whole pipelined batch, and with it every later poll
+            if (!isValid(event)) {
+                log.warn("Skipping invalid score event at {}-{}@{}: {}",
+                        record.topic(), record.partition(), record.offset(), event);
+                continue;
+            }
+            // Event timestamps are the server's local time (ScoreRecord.createdAt)
+            Instant submittedAt = event.getTimestamp() == null
+                    ? Instant.ofEpochMilli(record.timestamp())
+                    : event.getTimestamp().atZone(ZoneId.systemDefault()).toInstant();
+            updates.add(new ScoreUpdate(event.getGameId(), event.getUserId(), event.getScore(), submittedAt));
+        }
+        if (!updates.isEmpty()) {
+            leaderboardRedisRepository.keepBest(updates);
+            // After Redis has the scores, so a page reloaded from here on includes them. In this mode the submit
+            // path does not touch the cache, and the live listener may run before this consumer
+            for (ScoreUpdate update : updates) {
+                topScoresCache.scoreRecorded(update.gameId(), update.userId(), update.score());
+            }
+        }
+        log.debug("Applied {} score events to Redis", updates.size());
+    }
+
+    private static boolean isValid(ScoreRecordedEvent event) {
+        return event.getGameId() != null && !event.getGameId().isBlank()
+                && event.getUserId() != null && !event.getUserId().isBlank()
+                && event.getScore() != null && Double.isFinite(event.getScore());
+    }
+}
@@ -0,0 +1,98 @@
+package com.gaming.leaderboard.kafka;
+
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Compact binary layout of {@link ScoreRecordedEvent}, version 1 (big-endian):
+ * <pre>
+ * userId    u16 length + UTF-8 bytes (length 0xFFFF = null)
+ * gameId    u16 length + UTF-8 bytes (length 0xFFFF = null)
+ * score     float64 (NaN = null)
+ * timestamp int64 epoch millis, the LocalDateTime read as UTC (Long.MIN_VALUE = null)
+ * </pre>
+ * Records in this format carry the {@link #FORMAT_HEADER} header; records without it are JSON.
+ */
+public final class ScoreRecordedEventCodec {
+
+    public static final String FORMAT_HEADER = "score-event-format";
+    public static final String BINARY_V1 = "binary-v1";
+
+    private static final int NULL_LENGTH = 0xFFFF;
+    private static final long NULL_TIMESTAMP = Long.MIN_VALUE;
+
+    private ScoreRecordedEventCodec() {
+    }
+
+    public static byte[] encode(ScoreRecordedEvent event) {
+        byte[] userId = utf8(event.getUserId());
+        byte[] gameId = utf8(event.getGameId());
+        ByteBuffer buffer = ByteBuffer.allocate(2 + length(userId) + 2 + length(gameId) + 8 + 8);
+        putString(buffer, userId);
+        putString(buffer, gameId);
+        buffer.putDouble(event.getScore() == null ? Double.NaN : event.getScore());
+        buffer.putLong(event.getTimestamp() == null
+                ? NULL_TIMESTAMP
+                : event.getTimestamp().toInstant(ZoneOffset.UTC).toEpochMilli());
+        return buffer.array();
+    }
+
+    public static ScoreRecordedEvent decode(byte[] data) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            String userId = getString(buffer);
+            String gameId = getString(buffer);
+            double score = buffer.getDouble();
+            long timestamp = buffer.getLong();
+            return ScoreRecordedEvent.builder()
+                    .userId(userId)
+                    .gameId(gameId)
+                    .score(Double.isNaN(score) ? null : score)
+                    .timestamp(timestamp == NULL_TIMESTAMP
+                            ? null
+                            : LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneOffset.UTC))
+                    .build();
+        } catch (BufferUnderflowException e) {
+            throw new SerializationException("Truncated " + BINARY_V1 + " score event", e);
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] value) {
+        return value == null ? 0 : value.length;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putShort((short) NULL_LENGTH);
+            return;
+        }
+        if (value.length >= NULL_LENGTH) {
+            throw new SerializationException("Score event field too long: " + value.length + " bytes");
+        }
+        buffer.putShort((short) value.length);
+        buffer.put(value);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = Short.toUnsignedInt(buffer.getShort());
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        if (length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+}
@@ -0,0 +1,43 @@
+package com.gaming.leaderboard.kafka;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads {@link ScoreRecordedEvent}s in either format written by {@link ScoreRecordedEventSerializer}:
+ * records with the binary format header are decoded with {@link ScoreRecordedEventCodec}, all others as JSON.
+ */
+public class ScoreRecordedEventDeserializer implements Deserializer<ScoreRecordedEvent> {
+
+    // Type headers are ignored, so producers' class names do not have to be trusted
+    private final JsonDeserializer<ScoreRecordedEvent> jsonDeserializer =
+            new JsonDeserializer<>(ScoreRecordedEvent.class, false);
+
+    @Override
+    public ScoreRecordedEvent deserialize(String topic, byte[] data) {
+        return data == null ? null : jsonDeserializer.deserialize(topic, data);
+    }
+
+    @Override
+    public ScoreRecordedEvent deserialize(String topic, Headers headers, byte[] data) {
+        Header format = headers.lastHeader(ScoreRecordedEventCodec.FORMAT_HEADER);
+        if (format == null) {
+            return deserialize(topic, data);
+        }
+        String version = new String(format.value(), StandardCharsets.UTF_8);
+        if (!ScoreRecordedEventCodec.BINARY_V1.equals(version)) {
+            throw new SerializationException("Unsupported score event format: " + version);
+        }
+        return data == null ? null : ScoreRecordedEventCodec.decode(data);
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+}
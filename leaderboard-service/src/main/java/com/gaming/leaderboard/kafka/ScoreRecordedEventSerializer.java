@@ -0,0 +1,54 @@
+package com.gaming.leaderboard.kafka;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Writes {@link ScoreRecordedEvent}s as JSON (default) or in the compact {@link ScoreRecordedEventCodec}
+ * layout, chosen by the {@value #FORMAT_CONFIG} producer property ({@code json} or {@code binary}).
+ * Binary records are marked with a format header, so switch to binary only once every consumer
+ * reads both formats (e.g. with {@link ScoreRecordedEventDeserializer}).
+ */
+public class ScoreRecordedEventSerializer implements Serializer<ScoreRecordedEvent> {
+
+    public static final String FORMAT_CONFIG = "score-event.format";
+
+    private static final byte[] BINARY_V1_HEADER = ScoreRecordedEventCodec.BINARY_V1.getBytes(StandardCharsets.UTF_8);
+
+    private final JsonSerializer<ScoreRecordedEvent> jsonSerializer = new JsonSerializer<>();
+    private boolean binary;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        Object format = configs.get(FORMAT_CONFIG);
+        binary = format != null && "binary".equalsIgnoreCase(format.toString());
+        jsonSerializer.configure(configs, isKey);
+    }
+
+    @Override
+    public byte[] serialize(String topic, ScoreRecordedEvent data) {
+        return binary ? encode(data) : jsonSerializer.serialize(topic, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, ScoreRecordedEvent data) {
+        if (!binary) {
+            return jsonSerializer.serialize(topic, headers, data);
+        }
+        headers.add(ScoreRecordedEventCodec.FORMAT_HEADER, BINARY_V1_HEADER);
+        return encode(data);
+    }
+
+    @Override
+    public void close() {
+        jsonSerializer.close();
+    }
+
+    private byte[] encode(ScoreRecordedEvent data) {
+        return data == null ? null : ScoreRecordedEventCodec.encode(data);
+    }
+}
@@ -0,0 +1,191 @@
+package com.gaming.leaderboard.live;
+
+import com.gaming.leaderboard.dto.LeaderboardDiffDTO;
+import com.gaming.leaderboard.dto.LeaderboardEntryDTO;
+import com.gaming.leaderboard.service.LeaderboardService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Live all-time top N per game for SSE clients ({@code GET /api/leaderboard/stream/{gameId}}).
+ * A client first gets a {@code snapshot} event, then {@code diff} events. Score events only mark a game as
+ * changed ({@link #markChanged}); once per tick every changed game with at least one client is read from Redis
+ * once and the difference with the previous read is sent to all of its clients.
+ * In ranking consumer mode the read may precede the ranking consumer; the update then shows on the next change.
+ */
+@Component
+@ConditionalOnProperty(name = "leaderboard.live.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class LiveLeaderboardHub {
+
+    static final String SNAPSHOT_EVENT = "snapshot";
+    static final String DIFF_EVENT = "diff";
+
+    private final LeaderboardService leaderboardService;
+    private final int topN;
+    private final Duration emitterTimeout;
+    private final Duration heartbeat;
+
+    private final ConcurrentMap<String, GameFeed> feeds = new ConcurrentHashMap<>();
+    private final Set<String> changedGames = ConcurrentHashMap.newKeySet();
+    private volatile long lastHeartbeat = System.nanoTime();
+
+    public LiveLeaderboardHub(LeaderboardService leaderboardService,
+                              @Value("${leaderboard.live.top-n:10}") int topN,
+                              @Value("${leaderboard.live.emitter-timeout:30m}") Duration emitterTimeout,
+                              @Value("${leaderboard.live.heartbeat:15s}") Duration heartbeat) {
+        this.leaderboardService = leaderboardService;
+        this.topN = topN;
+        this.emitterTimeout = emitterTimeout;
+        this.heartbeat = heartbeat;
+    }
+
+    private static final class GameFeed {
+        private final String gameId;
+        private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+        // Held across a Redis read, so not a monitor (it would pin virtual threads)
+        private final ReentrantLock lock = new ReentrantLock();
+        private List<LeaderboardEntryDTO> snapshot;
+
+        private GameFeed(String gameId) {
+            this.gameId = gameId;
+        }
+    }
+
+    public SseEmitter subscribe(String gameId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeout.toMillis());
+        GameFeed feed = feeds.compute(gameId, (id, existing) -> {
+            GameFeed f = existing != null ? existing : new GameFeed(id);
+            f.emitters.add(emitter);
+            return f;
+        });
+        emitter.onCompletion(() -> unsubscribe(gameId, emitter));
+        emitter.onTimeout(() -> unsubscribe(gameId, emitter));
+        emitter.onError(e -> unsubscribe(gameId, emitter));
+
+        // Under the feed lock, so the snapshot is never overtaken by a diff computed against an older one
+        feed.lock.lock();
+        try {
+            if (feed.snapshot == null) {
+                feed.snapshot = leaderboardService.getTopScores(gameId, topN);
+            }
+            send(feed, emitter, SseEmitter.event().name(SNAPSHOT_EVENT).data(feed.snapshot, MediaType.APPLICATION_JSON));
+        } finally {
+            feed.lock.unlock();
+        }
+        return emitter;
+    }
+
+    private void unsubscribe(String gameId, SseEmitter emitter) {
+        feeds.computeIfPresent(gameId, (id, feed) -> {
+            feed.emitters.remove(emitter);
+            return feed.emitters.isEmpty() ? null : feed;
+        });
+    }
+
+    /**
+     * Records that the leaderboard of {@code gameId} may have changed; ignored when nobody is watching it.
+     */
+    public void markChanged(String gameId) {
+        if (feeds.containsKey(gameId)) {
+            changedGames.add(gameId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${leaderboard.live.tick-ms:1000}")
+    public void tick() {
+        for (Iterator<String> it = changedGames.iterator(); it.hasNext(); ) {
+            String gameId = it.next();
+            it.remove();
+            GameFeed feed = feeds.get(gameId);
+            if (feed != null) {
+                publishChanges(feed);
+            }
+        }
+
+        if (System.nanoTime() - lastHeartbeat >= heartbeat.toNanos()) {
+            lastHeartbeat = System.nanoTime();
+            // Keeps proxies from closing idle streams and finds clients that went away
+            for (GameFeed feed : feeds.values()) {
+                for (SseEmitter emitter : feed.emitters) {
+                    send(feed, emitter, SseEmitter.event().comment("heartbeat"));
+                }
+            }
+        }
+    }
+
+    private void publishChanges(GameFeed feed) {
+        feed.lock.lock();
+        try {
+            List<LeaderboardEntryDTO> current;
+            try {
+                current = leaderboardService.getTopScores(feed.gameId, topN);
+            } catch (RuntimeException e) {
+                log.warn("Could not read leaderboard {} for live clients, retrying next tick", feed.gameId, e);
+                changedGames.add(feed.gameId);
+                return;
+            }
+            LeaderboardDiffDTO diff = diff(feed.gameId, feed.snapshot, current);
+            feed.snapshot = current;
+            if (diff.isEmpty()) {
+                return;
+            }
+            for (SseEmitter emitter : feed.emitters) {
+                send(feed, emitter, SseEmitter.event().name(DIFF_EVENT).data(diff, MediaType.APPLICATION_JSON));
+            }
+        } finally {
+            feed.lock.unlock();
+        }
+    }
+
+    private void send(GameFeed feed, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // Client gone (or emitter already completed): drop it, the container completes the request
+            log.debug("Dropping live client of {}: {}", feed.gameId, e.getMessage());
+            unsubscribe(feed.gameId, emitter);
+        }
+    }
+
+    static LeaderboardDiffDTO diff(String gameId, List<LeaderboardEntryDTO> previous, List<LeaderboardEntryDTO> current) {
+        Map<String, LeaderboardEntryDTO> before = new LinkedHashMap<>();
+        if (previous != null) {
+            previous.forEach(entry -> before.put(entry.getUserId(), entry));
+        }
+        List<LeaderboardEntryDTO> updated = new ArrayList<>();
+        for (LeaderboardEntryDTO entry : current) {
+            if (!entry.equals(before.remove(entry.getUserId()))) {
+                updated.add(entry);
+            }
+        }
+        return LeaderboardDiffDTO.builder()
+                .gameId(gameId)
+                .updated(updated)
+                .removed(new ArrayList<>(before.keySet()))
+                .build();
+    }
+
+    int clientCount(String gameId) {
+        GameFeed feed = feeds.get(gameId);
+        return feed == null ? 0 : feed.emitters.size();
+    }
+}
@@ -0,0 +1,47 @@
+package com.gaming.leaderboard.live;
+
+import com.gaming.leaderboard.kafka.ScoreEventPublisher;
+import com.gaming.leaderboard.kafka.ScoreRecordedEvent;
+import com.gaming.leaderboard.service.TopScoresCache;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * The single upstream subscription of an instance's live clients: every instance reads all of
+ * {@code score-recorded} in its own consumer group, named after {@code leaderboard.live.instance-id} so that
+ * restarts rejoin it instead of leaving a new group behind. A new group starts from the latest offset
+ * (past events are in the snapshot).
+ * It also drops the instance's cached top scores that each event could change.
+ */
+@Component
+@ConditionalOnProperty(name = "leaderboard.live.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class LiveLeaderboardListener {
+
+    private final LiveLeaderboardHub liveLeaderboardHub;
+    private final TopScoresCache topScoresCache;
+
+    @KafkaListener(
+            topics = ScoreEventPublisher.TOPIC_SCORE_RECORDED,
+            groupId = "leaderboard-live-${leaderboard.live.instance-id:${HOSTNAME:local}}",
+            properties = "auto.offset.reset=latest",
+            batch = "true")
+    public void onScoresRecorded(List<ConsumerRecord<String, ScoreRecordedEvent>> records) {
+        for (ConsumerRecord<String, ScoreRecordedEvent> record : records) {
+            ScoreRecordedEvent event = record.value();
+            if (event == null || event.getGameId() == null) {
+                continue;
+            }
+            // Before the tick reads the top scores again
+            if (event.getUserId() != null && event.getScore() != null) {
+                topScoresCache.scoreRecorded(event.getGameId(), event.getUserId(), event.getScore());
+            }
+            liveLeaderboardHub.markChanged(event.getGameId());
+        }
+    }
+}
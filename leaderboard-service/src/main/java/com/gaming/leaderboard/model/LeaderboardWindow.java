@@ -0,0 +1,76 @@
+package com.gaming.leaderboard.model;
+
+import com.gaming.leaderboard.exception.InvalidLeaderboardWindowException;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.temporal.IsoFields;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Time span a leaderboard covers. Every window other than {@link #ALL_TIME} has its own sorted set per period
+ * (e.g. {@code leaderboard:{gameId}:d:2026-10-17}) that Redis expires once the period is over.
+ */
+public enum LeaderboardWindow {
+
+    ALL_TIME("all"),
+    DAILY("daily"),
+    WEEKLY("weekly"),
+    MONTHLY("monthly");
+
+    /**
+     * Window keys outlive their period by this much, so an instance whose clock is slightly behind
+     * never sets an expiry in the past (which would delete the key at once).
+     */
+    private static final Duration EXPIRY_GRACE = Duration.ofHours(1);
+
+    private final String param;
+
+    LeaderboardWindow(String param) {
+        this.param = param;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public static LeaderboardWindow fromParam(String value) {
+        for (LeaderboardWindow window : values()) {
+            if (window.param.equalsIgnoreCase(value)) {
+                return window;
+            }
+        }
+        throw new InvalidLeaderboardWindowException("Unknown leaderboard window: " + value);
+    }
+
+    /**
+     * Suffix appended to {@code leaderboard:{gameId}} for the period containing {@code date};
+     * empty for the all-time leaderboard.
+     */
+    public String keySuffix(LocalDate date) {
+        return switch (this) {
+            case ALL_TIME -> "";
+            case DAILY -> ":d:" + date;
+            case WEEKLY -> String.format(":w:%d-W%02d",
+                    date.get(IsoFields.WEEK_BASED_YEAR), date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+            case MONTHLY -> ":m:" + YearMonth.from(date);
+        };
+    }
+
+    /**
+     * When the key for the period containing {@code date} may be dropped; null for the all-time leaderboard.
+     */
+    public Instant expiresAt(LocalDate date, ZoneId zone) {
+        LocalDate end = switch (this) {
+            case ALL_TIME -> null;
+            case DAILY -> date.plusDays(1);
+            case WEEKLY -> date.with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+            case MONTHLY -> date.with(TemporalAdjusters.firstDayOfNextMonth());
+        };
+        return end == null ? null : end.atStartOfDay(zone).toInstant().plus(EXPIRY_GRACE);
+    }
+}
@@ -8,6 +8,7 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
+// Indexes are created by the Flyway migrations (db/migration)
 @Table(name = "score_records")
 @Getter
 @Setter
@@ -16,8 +17,8 @@ import java.util.UUID;
 @Builder
 public class ScoreRecord {
 
+    // Assigned by the application (UuidV7) so inserts can be batched
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
     private UUID id;
 
     @Column(nullable = false)
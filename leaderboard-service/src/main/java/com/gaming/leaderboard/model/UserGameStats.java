@@ -0,0 +1,46 @@
+package com.gaming.leaderboard.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+// Written only by ScoreRecordJdbcRepository, together with the score inserts
+@Entity
+@Immutable
+@Table(name = "user_game_stats")
+@IdClass(UserGameStats.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserGameStats {
+
+    @Id
+    private String userId;
+
+    @Id
+    private String gameId;
+
+    @Column(nullable = false)
+    private Double bestScore;
+
+    @Column(nullable = false)
+    private Long gamesPlayed;
+
+    @Column(nullable = false)
+    private Double totalScore;
+
+    private LocalDateTime lastPlayedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String userId;
+        private String gameId;
+    }
+}
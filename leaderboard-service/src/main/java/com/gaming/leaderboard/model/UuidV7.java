@@ -0,0 +1,25 @@
+package com.gaming.leaderboard.model;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Time-ordered UUIDs (RFC 9562 version 7): 48 bits of Unix epoch milliseconds followed by random bits.
+ * New ids sort after older ones, so primary key inserts land at the right edge of the B-tree index
+ * instead of splitting random pages.
+ */
+public final class UuidV7 {
+
+    private UuidV7() {
+    }
+
+    public static UUID randomUuid() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSigBits = (System.currentTimeMillis() << 16)
+                | 0x7000L                                  // version 7
+                | (random.nextLong() & 0x0FFFL);           // rand_a
+        long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL)
+                | 0x8000000000000000L;                     // IETF variant
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
@@ -0,0 +1,27 @@
+package com.gaming.leaderboard.rebuild;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code POST /actuator/leaderboards} rebuilds every leaderboard from PostgreSQL;
+ * with a {@code {"gameId": "..."}} body only that game's leaderboard is rebuilt.
+ */
+@Component
+@Endpoint(id = "leaderboards")
+@RequiredArgsConstructor
+public class LeaderboardRebuildEndpoint {
+
+    private final LeaderboardRebuilder leaderboardRebuilder;
+
+    @WriteOperation
+    public Map<String, Long> rebuild(@Nullable String gameId) {
+        return leaderboardRebuilder.rebuild(gameId == null ? null : List.of(gameId));
+    }
+}
@@ -0,0 +1,132 @@
+package com.gaming.leaderboard.rebuild;
+
+import com.gaming.leaderboard.repository.LeaderboardRedisRepository;
+import com.gaming.leaderboard.repository.ScoreRecordJdbcRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Rebuilds the all-time Redis leaderboards from the best scores stored in PostgreSQL, e.g. after a Redis
+ * flush or failover. Scores are streamed game by game and written in chunks into a temporary key, which then
+ * replaces the live leaderboard atomically, so readers never see a half-built board.
+ */
+@Component
+@Slf4j
+public class LeaderboardRebuilder {
+
+    private final ScoreRecordJdbcRepository scoreRecordJdbcRepository;
+    private final LeaderboardRedisRepository leaderboardRedisRepository;
+    private final boolean rebuildOnStartup;
+    private final int fetchSize;
+    private final int chunkSize;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    public LeaderboardRebuilder(ScoreRecordJdbcRepository scoreRecordJdbcRepository,
+                                LeaderboardRedisRepository leaderboardRedisRepository,
+                                @Value("${leaderboard.rebuild.on-startup:true}") boolean rebuildOnStartup,
+                                @Value("${leaderboard.rebuild.fetch-size:1000}") int fetchSize,
+                                @Value("${leaderboard.rebuild.chunk-size:1000}") int chunkSize) {
+        this.scoreRecordJdbcRepository = scoreRecordJdbcRepository;
+        this.leaderboardRedisRepository = leaderboardRedisRepository;
+        this.rebuildOnStartup = rebuildOnStartup;
+        this.fetchSize = fetchSize;
+        this.chunkSize = chunkSize;
+    }
+
+    // Runs before the readiness state becomes ACCEPTING_TRAFFIC, so traffic routed by the readiness probe waits
+    // for it; the web server is already listening though, and requests reaching it directly may read empty
+    // boards until the rebuild ends
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildMissing() {
+        if (!rebuildOnStartup) {
+            return;
+        }
+        try {
+            List<String> missing = leaderboardRedisRepository.findMissingLeaderboards(
+                    scoreRecordJdbcRepository.findGameIds());
+            if (!missing.isEmpty()) {
+                log.info("Leaderboards missing in Redis for games {}, rebuilding from PostgreSQL", missing);
+                rebuild(missing);
+            }
+        } catch (DataAccessException e) {
+            log.error("Startup rebuild of missing leaderboards failed", e);
+        }
+    }
+
+    /**
+     * Rebuilds the leaderboards of the given games, or of every game when {@code gameIds} is null.
+     * Returns the number of entries per rebuilt game; games without stored scores are left untouched.
+     */
+    public Map<String, Long> rebuild(Collection<String> gameIds) {
+        // One rebuild at a time; a lock rather than a monitor so a waiting virtual thread does not pin its carrier
+        rebuildLock.lock();
+        try {
+            return rebuildAll(gameIds);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private Map<String, Long> rebuildAll(Collection<String> gameIds) {
+        long started = System.currentTimeMillis();
+        Map<String, Long> sizes = new LinkedHashMap<>();
+        GameRebuild[] current = new GameRebuild[1];
+
+        scoreRecordJdbcRepository.streamBestScores(gameIds, fetchSize, bestScore -> {
+            if (current[0] == null || !current[0].gameId.equals(bestScore.gameId())) {
+                if (current[0] != null) {
+                    sizes.put(current[0].gameId, current[0].finish());
+                }
+                current[0] = new GameRebuild(bestScore.gameId());
+            }
+            current[0].add(bestScore.userId(), bestScore.score());
+        });
+        if (current[0] != null) {
+            sizes.put(current[0].gameId, current[0].finish());
+        }
+
+        log.info("Rebuilt {} leaderboards in {} ms: {}", sizes.size(), System.currentTimeMillis() - started, sizes);
+        return sizes;
+    }
+
+    private class GameRebuild {
+
+        private final String gameId;
+        private final String rebuildKey;
+        private Map<String, Double> chunk = new LinkedHashMap<>();
+
+        GameRebuild(String gameId) {
+            this.gameId = gameId;
+            this.rebuildKey = leaderboardRedisRepository.newRebuildKey(gameId);
+        }
+
+        void add(String userId, double score) {
+            chunk.put(userId, score);
+            if (chunk.size() >= chunkSize) {
+                flushChunk();
+            }
+        }
+
+        long finish() {
+            flushChunk();
+            return leaderboardRedisRepository.replaceLeaderboard(gameId, rebuildKey);
+        }
+
+        private void flushChunk() {
+            if (!chunk.isEmpty()) {
+                leaderboardRedisRepository.addToRebuild(rebuildKey, chunk);
+                chunk = new LinkedHashMap<>();
+            }
+        }
+    }
+}
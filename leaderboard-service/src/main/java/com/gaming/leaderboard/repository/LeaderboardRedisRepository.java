@@ -0,0 +1,294 @@
+package com.gaming.leaderboard.repository;
+
+import com.gaming.leaderboard.dto.LeaderboardEntryDTO;
+import com.gaming.leaderboard.model.LeaderboardWindow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.zset.DefaultTuple;
+import org.springframework.data.redis.connection.zset.Tuple;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Redis side of the leaderboards: one sorted set per game ({@code leaderboard:{gameId}})
+ * plus a hash of display names next to it ({@code leaderboard:{gameId}:names}). Daily, weekly and monthly
+ * leaderboards are separate sorted sets per period ({@code leaderboard:{gameId}:d:2026-10-17},
+ * {@code :w:2026-W42}, {@code :m:2026-10}) that expire on their own once the period is over.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LeaderboardRedisRepository {
+
+    private static final String LEADERBOARD_KEY_PREFIX = "leaderboard:";
+    private static final String NAMES_KEY_SUFFIX = ":names";
+    private static final String REBUILD_KEY_SUFFIX = ":rebuild:";
+    // A rebuild that dies halfway must not leave its copy behind forever
+    private static final Duration REBUILD_KEY_TTL = Duration.ofHours(1);
+
+    private static final List<LeaderboardWindow> PERIOD_WINDOWS =
+            List.of(LeaderboardWindow.DAILY, LeaderboardWindow.WEEKLY, LeaderboardWindow.MONTHLY);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Clock leaderboardClock;
+
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> leaderboardRangeScript;
+
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> submitScoreScript;
+
+    private final RedisScript<Long> replaceLeaderboardScript;
+
+    /**
+     * Result of a keep-best update: the best score before the update (null if the user had no
+     * entry) and the 1-based rank of the user afterwards.
+     */
+    public record BestScoreUpdate(Double previousBest, long rank) {
+    }
+
+    /**
+     * Atomically stores {@code score} if it beats the user's current best, on the all-time leaderboard and on
+     * the current daily, weekly and monthly ones, and saves the display name, in a single script call.
+     * The returned previous best and rank refer to the all-time leaderboard.
+     */
+    public BestScoreUpdate submitScore(String gameId, String userId, String username, double score) {
+        ScriptCall call = submitScoreCall(new ScoreSubmission(gameId, userId, username, score), LocalDate.now(leaderboardClock));
+        List<?> reply = redisTemplate.execute(submitScoreScript, call.keys(), call.args().toArray());
+        return toBestScoreUpdate(reply);
+    }
+
+    /**
+     * A score to submit through {@link #submitScores(List)}. A null username leaves the stored display name as is.
+     */
+    public record ScoreSubmission(String gameId, String userId, String username, double score) {
+    }
+
+    /**
+     * {@link #submitScore} for many scores in one pipelined round trip. The script is still applied to each
+     * submission atomically and in list order, so repeated users see each other's updates.
+     * Results are in the order of {@code submissions}.
+     */
+    public List<BestScoreUpdate> submitScores(List<ScoreSubmission> submissions) {
+        if (submissions.isEmpty()) {
+            return List.of();
+        }
+        LocalDate today = LocalDate.now(leaderboardClock);
+        byte[] script = submitScoreScript.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+        List<Object> replies = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            // Loading first makes the EVALSHAs below safe even right after a Redis restart
+            connection.scriptingCommands().scriptLoad(script);
+            for (ScoreSubmission submission : submissions) {
+                ScriptCall call = submitScoreCall(submission, today);
+                List<byte[]> keysAndArgs = new ArrayList<>(call.keys().size() + call.args().size());
+                call.keys().forEach(key -> keysAndArgs.add(key.getBytes(StandardCharsets.UTF_8)));
+                call.args().forEach(arg -> keysAndArgs.add(arg.getBytes(StandardCharsets.UTF_8)));
+                connection.scriptingCommands().evalSha(submitScoreScript.getSha1(), ReturnType.MULTI,
+                        call.keys().size(), keysAndArgs.toArray(new byte[0][]));
+            }
+            return null;
+        });
+
+        List<BestScoreUpdate> updates = new ArrayList<>(submissions.size());
+        for (Object reply : replies.subList(1, replies.size())) {
+            updates.add(toBestScoreUpdate((List<?>) reply));
+        }
+        return updates;
+    }
+
+    private record ScriptCall(List<String> keys, List<String> args) {
+    }
+
+    private ScriptCall submitScoreCall(ScoreSubmission submission, LocalDate today) {
+        String gameId = submission.gameId();
+        List<String> keys = new ArrayList<>(List.of(leaderboardKey(gameId), namesKey(gameId)));
+        List<String> args = new ArrayList<>(List.of(
+                submission.userId(), String.valueOf(submission.score()),
+                submission.username() == null ? "" : submission.username()));
+        for (LeaderboardWindow window : PERIOD_WINDOWS) {
+            keys.add(leaderboardKey(gameId, window, today));
+            args.add(String.valueOf(window.expiresAt(today, leaderboardClock.getZone()).getEpochSecond()));
+        }
+        return new ScriptCall(keys, args);
+    }
+
+    private static BestScoreUpdate toBestScoreUpdate(List<?> reply) {
+        Object previous = reply.get(0);
+        Double previousBest = previous == null ? null : Double.valueOf(previous instanceof byte[] bytes
+                ? new String(bytes, StandardCharsets.UTF_8)
+                : previous.toString());
+        return new BestScoreUpdate(previousBest, ((Number) reply.get(1)).longValue() + 1);
+    }
+
+    /**
+     * Raises the user's score to {@code score} unless it is already higher ({@code ZADD GT})
+     * and returns the resulting 1-based rank.
+     */
+    public long keepBest(String gameId, String userId, double score) {
+        byte[] key = leaderboardKey(gameId).getBytes(StandardCharsets.UTF_8);
+        byte[] member = userId.getBytes(StandardCharsets.UTF_8);
+        redisTemplate.execute((RedisCallback<Boolean>) connection -> connection.zSetCommands()
+                .zAdd(key, score, member, RedisZSetCommands.ZAddArgs.empty().gt()));
+        Long rank = redisTemplate.opsForZSet().reverseRank(leaderboardKey(gameId), userId);
+        return rank == null ? 0 : rank + 1;
+    }
+
+    /**
+     * A score to keep if it beats the user's best, submitted at {@code submittedAt}.
+     */
+    public record ScoreUpdate(String gameId, String userId, double score, Instant submittedAt) {
+    }
+
+    /**
+     * Applies many scores in one pipelined round trip: {@code ZADD GT} on the all-time leaderboard and on the
+     * daily, weekly and monthly leaderboards of the period each score was submitted in. Periods that have
+     * already expired are skipped. Idempotent, so redelivered updates are harmless.
+     */
+    public void keepBest(Collection<ScoreUpdate> updates) {
+        Instant now = leaderboardClock.instant();
+        RedisZSetCommands.ZAddArgs greaterThan = RedisZSetCommands.ZAddArgs.empty().gt();
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (ScoreUpdate update : updates) {
+                byte[] member = update.userId().getBytes(StandardCharsets.UTF_8);
+                connection.zSetCommands().zAdd(leaderboardKey(update.gameId()).getBytes(StandardCharsets.UTF_8),
+                        update.score(), member, greaterThan);
+
+                LocalDate date = LocalDate.ofInstant(update.submittedAt(), leaderboardClock.getZone());
+                for (LeaderboardWindow window : PERIOD_WINDOWS) {
+                    Instant expiresAt = window.expiresAt(date, leaderboardClock.getZone());
+                    if (expiresAt.isAfter(now)) {
+                        byte[] key = leaderboardKey(update.gameId(), window, date).getBytes(StandardCharsets.UTF_8);
+                        connection.zSetCommands().zAdd(key, update.score(), member, greaterThan);
+                        connection.keyCommands().expireAt(key, expiresAt.getEpochSecond());
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    public void saveUsernames(String gameId, Map<String, String> usernames) {
+        redisTemplate.opsForHash().putAll(namesKey(gameId), usernames);
+    }
+
+    /**
+     * Returns the entries ranked {@code start..stop} (inclusive, 0-based, best first) with their stored
+     * display names from the given window's current leaderboard, using a single script call.
+     * The username is null for members whose name has not been stored yet.
+     */
+    public List<LeaderboardEntryDTO> findRange(String gameId, LeaderboardWindow window, long start, long stop) {
+        return parseEntries(redisTemplate.execute(leaderboardRangeScript,
+                List.of(currentKey(gameId, window), namesKey(gameId)),
+                String.valueOf(start), String.valueOf(stop)));
+    }
+
+    /**
+     * Returns the user's own entry plus up to {@code neighbours} entries above and below it, using a
+     * single script call (the range depends on the user's rank, so it cannot be pipelined).
+     * Empty if the user has no entry on the given window's current leaderboard.
+     */
+    public List<LeaderboardEntryDTO> findAround(String gameId, LeaderboardWindow window, String userId, int neighbours) {
+        return parseEntries(redisTemplate.execute(leaderboardRangeScript,
+                List.of(currentKey(gameId, window), namesKey(gameId)),
+                String.valueOf(-neighbours), String.valueOf(neighbours), userId));
+    }
+
+    /**
+     * Returns the games among {@code gameIds} that have no all-time leaderboard in Redis, with one pipelined
+     * {@code EXISTS} per game.
+     */
+    public List<String> findMissingLeaderboards(Collection<String> gameIds) {
+        List<String> games = new ArrayList<>(gameIds);
+        List<Object> exists = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String gameId : games) {
+                connection.keyCommands().exists(leaderboardKey(gameId).getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < games.size(); i++) {
+            if (!Boolean.TRUE.equals(exists.get(i))) {
+                missing.add(games.get(i));
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Name of a fresh temporary key to rebuild the game's all-time leaderboard into.
+     */
+    public String newRebuildKey(String gameId) {
+        return leaderboardKey(gameId) + REBUILD_KEY_SUFFIX + UUID.randomUUID();
+    }
+
+    /**
+     * Adds a chunk of best scores to a rebuild key: one {@code ZADD} with all members plus the safety
+     * expiry, pipelined in a single round trip.
+     */
+    public void addToRebuild(String rebuildKey, Map<String, Double> scores) {
+        byte[] key = rebuildKey.getBytes(StandardCharsets.UTF_8);
+        Set<Tuple> tuples = new LinkedHashSet<>();
+        scores.forEach((userId, score) -> tuples.add(new DefaultTuple(userId.getBytes(StandardCharsets.UTF_8), score)));
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.zSetCommands().zAdd(key, tuples);
+            connection.keyCommands().expire(key, REBUILD_KEY_TTL.getSeconds());
+            return null;
+        });
+    }
+
+    /**
+     * Atomically replaces the game's all-time leaderboard with a rebuilt copy, keeping any higher score
+     * written to the live set in the meantime. Returns the number of entries.
+     */
+    public long replaceLeaderboard(String gameId, String rebuildKey) {
+        return redisTemplate.execute(replaceLeaderboardScript, List.of(leaderboardKey(gameId), rebuildKey));
+    }
+
+    private List<LeaderboardEntryDTO> parseEntries(List<?> reply) {
+        List<LeaderboardEntryDTO> entries = new ArrayList<>();
+        if (reply == null || reply.isEmpty()) {
+            return entries;
+        }
+        long rank = (Long) reply.get(0) + 1;
+        for (int i = 1; i + 2 < reply.size(); i += 3) {
+            entries.add(LeaderboardEntryDTO.builder()
+                    .rank(rank++)
+                    .userId((String) reply.get(i))
+                    .score(Double.valueOf((String) reply.get(i + 1)))
+                    .username((String) reply.get(i + 2))
+                    .build());
+        }
+        return entries;
+    }
+
+    private String leaderboardKey(String gameId) {
+        return LEADERBOARD_KEY_PREFIX + gameId;
+    }
+
+    private String currentKey(String gameId, LeaderboardWindow window) {
+        return leaderboardKey(gameId, window, LocalDate.now(leaderboardClock));
+    }
+
+    private String leaderboardKey(String gameId, LeaderboardWindow window, LocalDate date) {
+        return LEADERBOARD_KEY_PREFIX + gameId + window.keySuffix(date);
+    }
+
+    private String namesKey(String gameId) {
+        return LEADERBOARD_KEY_PREFIX + gameId + NAMES_KEY_SUFFIX;
+    }
+}
@@ -0,0 +1,67 @@
+package com.gaming.leaderboard.repository;
+
+import com.gaming.leaderboard.kafka.ScoreRecordedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads and clears the {@code score_event_outbox} rows written by {@link ScoreRecordJdbcRepository#insertAll}.
+ * Rows are claimed with a lease in one short statement, so no transaction stays open while they are published.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ScoreEventOutboxRepository {
+
+    // SKIP LOCKED lets several relay instances claim disjoint batches concurrently
+    private static final String CLAIM_SQL =
+            "UPDATE score_event_outbox SET locked_until = now() + make_interval(secs => ?) " +
+            "WHERE score_record_id IN (" +
+            "  SELECT score_record_id FROM score_event_outbox" +
+            "  WHERE locked_until IS NULL OR locked_until < now()" +
+            "  ORDER BY score_record_id LIMIT ? FOR UPDATE SKIP LOCKED" +
+            ") RETURNING score_record_id, user_id, game_id, score, recorded_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record OutboxEvent(UUID id, ScoreRecordedEvent event) {
+    }
+
+    /**
+     * Claims up to {@code limit} unpublished events for {@code lease}; events that are not deleted before the
+     * lease expires are claimed again.
+     */
+    public List<OutboxEvent> claim(int limit, Duration lease) {
+        List<OutboxEvent> events = jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> {
+            Timestamp recordedAt = rs.getTimestamp("recorded_at");
+            return new OutboxEvent(rs.getObject("score_record_id", UUID.class), ScoreRecordedEvent.builder()
+                    .userId(rs.getString("user_id"))
+                    .gameId(rs.getString("game_id"))
+                    .score(rs.getDouble("score"))
+                    .timestamp(recordedAt == null ? null : recordedAt.toLocalDateTime())
+                    .build());
+        }, lease.toMillis() / 1000.0, limit);
+        // RETURNING does not keep the subquery order
+        events.sort(Comparator.comparing(OutboxEvent::id));
+        return events;
+    }
+
+    public void deleteAll(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement("DELETE FROM score_event_outbox WHERE score_record_id = ANY (?)");
+            ps.setArray(1, connection.createArrayOf("uuid", ids.toArray()));
+            return ps;
+        });
+    }
+}
@@ -0,0 +1,191 @@
+package com.gaming.leaderboard.repository;
+
+import com.gaming.leaderboard.model.ScoreRecord;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Batch insert path for {@link ScoreRecord}s, which also writes their {@code score_event_outbox} rows and
+ * maintains {@code user_game_stats}, all in the same statement. Records must
+ * already carry their id and creation time; re-inserting a record that is already stored is a no-op
+ * (for the stats too), so replays are safe.
+ * Also serves the reads that must not load whole result sets: user history pages and streams, and the
+ * best scores per player (from {@code user_game_stats}) used to rebuild the Redis leaderboards.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ScoreRecordJdbcRepository {
+
+    // One statement per batch: the rows travel as arrays, and the outbox events and the stats of the
+    // (user, game) pairs are written from the rows actually inserted, so replaying a record never
+    // counts or publishes it twice
+    private static final String INSERT_SQL =
+            "WITH inserted AS (" +
+            "  INSERT INTO score_records (id, user_id, game_id, score, created_at)" +
+            "  SELECT * FROM unnest(?::uuid[], ?::varchar[], ?::varchar[], ?::float8[], ?::timestamp[])" +
+            "  ON CONFLICT (id) DO NOTHING" +
+            "  RETURNING id, user_id, game_id, score, created_at" +
+            "), outbox AS (" +
+            "  INSERT INTO score_event_outbox (score_record_id, user_id, game_id, score, recorded_at)" +
+            "  SELECT id, user_id, game_id, score, created_at FROM inserted" +
+            ") " +
+            "INSERT INTO user_game_stats (user_id, game_id, best_score, games_played, total_score, last_played_at) " +
+            "SELECT user_id, game_id, MAX(score), COUNT(*), SUM(score), MAX(created_at) FROM inserted " +
+            "GROUP BY user_id, game_id ORDER BY user_id, game_id " +
+            "ON CONFLICT (user_id, game_id) DO UPDATE SET " +
+            "  best_score = GREATEST(user_game_stats.best_score, EXCLUDED.best_score)," +
+            "  games_played = user_game_stats.games_played + EXCLUDED.games_played," +
+            "  total_score = user_game_stats.total_score + EXCLUDED.total_score," +
+            "  last_played_at = GREATEST(user_game_stats.last_played_at, EXCLUDED.last_played_at)";
+
+    // Loose index scan: each step seeks the next game_id in idx_user_game_stats_game, so the cost grows with
+    // the number of games rather than with the number of players or scores. user_game_stats has a row for
+    // every (user, game) with a stored score
+    private static final String GAME_IDS_SQL =
+            "WITH RECURSIVE games AS (" +
+            "  (SELECT game_id FROM user_game_stats ORDER BY game_id LIMIT 1)" +
+            "  UNION ALL" +
+            "  SELECT (SELECT s.game_id FROM user_game_stats s WHERE s.game_id > games.game_id" +
+            "          ORDER BY s.game_id LIMIT 1)" +
+            "  FROM games WHERE games.game_id IS NOT NULL" +
+            ") " +
+            "SELECT game_id FROM games WHERE game_id IS NOT NULL";
+
+    // Best scores are kept per (user, game) in user_game_stats, so a rebuild reads one row per player and game
+    // however long the score history is
+    private static final String BEST_SCORES_SQL =
+            "SELECT game_id, user_id, best_score FROM user_game_stats ORDER BY game_id";
+
+    private static final String BEST_SCORES_OF_GAMES_SQL =
+            "SELECT game_id, user_id, best_score FROM user_game_stats WHERE game_id = ANY (?) ORDER BY game_id";
+
+    private static final String HISTORY_SQL =
+            "SELECT id, user_id, game_id, score, created_at FROM score_records WHERE user_id = ?";
+
+    private static final RowMapper<ScoreRecord> SCORE_RECORD_MAPPER = (rs, rowNum) -> ScoreRecord.builder()
+            .id(rs.getObject("id", UUID.class))
+            .userId(rs.getString("user_id"))
+            .gameId(rs.getString("game_id"))
+            .score(rs.getDouble("score"))
+            .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Best score of one player in one game.
+     */
+    public record BestScore(String gameId, String userId, double score) {
+    }
+
+    @Transactional
+    public void insertAll(List<ScoreRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        UUID[] ids = new UUID[records.size()];
+        String[] userIds = new String[records.size()];
+        String[] gameIds = new String[records.size()];
+        Double[] scores = new Double[records.size()];
+        Timestamp[] createdAts = new Timestamp[records.size()];
+        for (int i = 0; i < records.size(); i++) {
+            ScoreRecord record = records.get(i);
+            ids[i] = record.getId();
+            userIds[i] = record.getUserId();
+            gameIds[i] = record.getGameId();
+            scores[i] = record.getScore();
+            createdAts[i] = Timestamp.valueOf(record.getCreatedAt());
+        }
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT_SQL);
+            ps.setArray(1, connection.createArrayOf("uuid", ids));
+            ps.setArray(2, connection.createArrayOf("varchar", userIds));
+            ps.setArray(3, connection.createArrayOf("varchar", gameIds));
+            ps.setArray(4, connection.createArrayOf("float8", scores));
+            ps.setArray(5, connection.createArrayOf("timestamp", createdAts));
+            return ps;
+        });
+    }
+
+    public List<String> findGameIds() {
+        return jdbcTemplate.queryForList(GAME_IDS_SQL, String.class);
+    }
+
+    /**
+     * Streams the best score of every player, grouped by game (all rows of a game are consecutive),
+     * for the given games or for all games when {@code gameIds} is null.
+     * Rows come from a server-side cursor {@code fetchSize} at a time and are never collected in memory;
+     * PostgreSQL only uses a cursor with auto-commit off, hence the transaction.
+     */
+    @Transactional(readOnly = true)
+    public void streamBestScores(Collection<String> gameIds, int fetchSize, Consumer<BestScore> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(
+                    gameIds == null ? BEST_SCORES_SQL : BEST_SCORES_OF_GAMES_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            if (gameIds != null) {
+                ps.setArray(1, connection.createArrayOf("varchar", gameIds.toArray()));
+            }
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(
+                new BestScore(rs.getString("game_id"), rs.getString("user_id"), rs.getDouble("best_score"))));
+    }
+
+    /**
+     * Returns up to {@code limit} records of the user, newest first, that come after the given
+     * {@code (createdAt, id)} key (or from the newest record when the key is null). Restricted to one game
+     * unless {@code gameId} is null. The row comparison seeks straight into the history indexes,
+     * so deep pages cost the same as the first one.
+     */
+    public List<ScoreRecord> findHistoryPage(String userId, String gameId,
+                                             LocalDateTime afterCreatedAt, UUID afterId, int limit) {
+        StringBuilder sql = new StringBuilder(HISTORY_SQL);
+        List<Object> args = new ArrayList<>(List.of(userId));
+        if (gameId != null) {
+            sql.append(" AND game_id = ?");
+            args.add(gameId);
+        }
+        if (afterCreatedAt != null) {
+            sql.append(" AND (created_at, id) < (?, ?)");
+            args.add(Timestamp.valueOf(afterCreatedAt));
+            args.add(afterId);
+        }
+        sql.append(" ORDER BY created_at DESC, id DESC LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), SCORE_RECORD_MAPPER, args.toArray());
+    }
+
+    /**
+     * Streams the user's whole history, newest first, through a server-side cursor; restricted to one
+     * game unless {@code gameId} is null. Only {@code fetchSize} rows are held in memory at a time.
+     */
+    @Transactional(readOnly = true)
+    public void streamHistory(String userId, String gameId, int fetchSize, Consumer<ScoreRecord> consumer) {
+        String sql = HISTORY_SQL + (gameId != null ? " AND game_id = ?" : "") + " ORDER BY created_at DESC, id DESC";
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            ps.setString(1, userId);
+            if (gameId != null) {
+                ps.setString(2, gameId);
+            }
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(SCORE_RECORD_MAPPER.mapRow(rs, 0)));
+    }
+}
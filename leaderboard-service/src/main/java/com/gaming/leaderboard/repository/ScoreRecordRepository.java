@@ -2,13 +2,15 @@ package com.gaming.leaderboard.repository;
 
 import com.gaming.leaderboard.model.ScoreRecord;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface ScoreRecordRepository extends JpaRepository<ScoreRecord, UUID> {
-    List<ScoreRecord> findByUserIdAndGameIdOrderByCreatedAtDesc(String userId, String gameId);
-    List<ScoreRecord> findByUserIdOrderByCreatedAtDesc(String userId);
+    // Served by idx_score_records_user_game_score
+    @Query("SELECT MAX(s.score) FROM ScoreRecord s WHERE s.userId = :userId AND s.gameId = :gameId")
+    Optional<Double> findBestScore(String userId, String gameId);
 }
@@ -0,0 +1,13 @@
+package com.gaming.leaderboard.repository;
+
+import com.gaming.leaderboard.model.UserGameStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface UserGameStatsRepository extends JpaRepository<UserGameStats, UserGameStats.Key> {
+    // Range scan on the (user_id, game_id) primary key
+    List<UserGameStats> findByUserIdOrderByGameId(String userId);
+}
@@ -0,0 +1,45 @@
+package com.gaming.leaderboard.service;
+
+import com.gaming.leaderboard.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque paging cursor for score history pages: the {@code (createdAt, id)} key of the last record returned.
+ * The next page seeks past that key instead of skipping an offset, so pages stay stable while new scores arrive.
+ */
+record HistoryCursor(LocalDateTime createdAt, UUID id) {
+
+    private static final String KEY_PREFIX = "k:";
+    private static final String SEPARATOR = "|";
+
+    String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((KEY_PREFIX + createdAt + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Null when there is no cursor, i.e. for the first page.
+     */
+    static HistoryCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            if (value.startsWith(KEY_PREFIX) && separator > 0) {
+                return new HistoryCursor(
+                        LocalDateTime.parse(value.substring(KEY_PREFIX.length(), separator)),
+                        UUID.fromString(value.substring(separator + 1)));
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // Falls through to the exception below
+        }
+        throw new InvalidCursorException("Invalid history cursor: " + cursor);
+    }
+}
@@ -0,0 +1,41 @@
+package com.gaming.leaderboard.service;
+
+import com.gaming.leaderboard.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque paging cursor for leaderboard pages. It encodes the 0-based rank the next page starts at;
+ * ZREVRANGE seeks to any rank in O(log N), so deep pages cost the same as the first one.
+ */
+final class LeaderboardCursor {
+
+    private static final String OFFSET_PREFIX = "o:";
+
+    private LeaderboardCursor() {
+    }
+
+    static String encode(long offset) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((OFFSET_PREFIX + offset).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (value.startsWith(OFFSET_PREFIX)) {
+                long offset = Long.parseLong(value.substring(OFFSET_PREFIX.length()));
+                if (offset >= 0) {
+                    return offset;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // Falls through to the exception below
+        }
+        throw new InvalidCursorException("Invalid leaderboard cursor: " + cursor);
+    }
+}
@@ -1,14 +1,29 @@
 package com.gaming.leaderboard.service;
 
+import com.gaming.leaderboard.dto.BatchScoreEntryDTO;
 import com.gaming.leaderboard.dto.LeaderboardEntryDTO;
+import com.gaming.leaderboard.dto.LeaderboardPageDTO;
+import com.gaming.leaderboard.dto.PlayerRankDTO;
+import com.gaming.leaderboard.dto.ScoreHistoryPageDTO;
 import com.gaming.leaderboard.dto.ScoreResponseDTO;
 import com.gaming.leaderboard.dto.ScoreSubmissionDTO;
+import com.gaming.leaderboard.dto.UserGameStatsDTO;
+import com.gaming.leaderboard.model.LeaderboardWindow;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface LeaderboardService {
     ScoreResponseDTO submitScore(String userId, String username, ScoreSubmissionDTO submission);
+    // Results are in the order of the entries
+    List<ScoreResponseDTO> submitScores(List<BatchScoreEntryDTO> entries);
     List<LeaderboardEntryDTO> getTopScores(String gameId, int limit);
-    List<ScoreResponseDTO> getUserHistory(String userId, String gameId);
-    List<ScoreResponseDTO> getAllUserHistory(String userId);
+    LeaderboardPageDTO getScoresPage(String gameId, LeaderboardWindow window, int limit, String cursor);
+    Optional<PlayerRankDTO> getPlayerRank(String gameId, LeaderboardWindow window, String userId, int neighbours);
+    // gameId null = history across all games
+    ScoreHistoryPageDTO getUserHistory(String userId, String gameId, int limit, String cursor);
+    void streamUserHistory(String userId, String gameId, Consumer<ScoreResponseDTO> consumer);
+    List<UserGameStatsDTO> getUserStats(String userId);
+    Optional<UserGameStatsDTO> getUserGameStats(String userId, String gameId);
 }
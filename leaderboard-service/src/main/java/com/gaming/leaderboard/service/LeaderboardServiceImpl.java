@@ -1,26 +1,37 @@
 package com.gaming.leaderboard.service;
 
+import com.gaming.leaderboard.client.UsernameResolver;
+import com.gaming.leaderboard.dto.BatchScoreEntryDTO;
 import com.gaming.leaderboard.dto.LeaderboardEntryDTO;
+import com.gaming.leaderboard.dto.LeaderboardPageDTO;
+import com.gaming.leaderboard.dto.PlayerRankDTO;
+import com.gaming.leaderboard.dto.ScoreHistoryPageDTO;
 import com.gaming.leaderboard.dto.ScoreResponseDTO;
 import com.gaming.leaderboard.dto.ScoreSubmissionDTO;
-import com.gaming.leaderboard.kafka.ScoreRecordedEvent;
+import com.gaming.leaderboard.dto.UserGameStatsDTO;
+import com.gaming.leaderboard.model.LeaderboardWindow;
 import com.gaming.leaderboard.model.ScoreRecord;
+import com.gaming.leaderboard.model.UserGameStats;
+import com.gaming.leaderboard.model.UuidV7;
+import com.gaming.leaderboard.repository.LeaderboardRedisRepository;
+import com.gaming.leaderboard.repository.ScoreRecordJdbcRepository;
 import com.gaming.leaderboard.repository.ScoreRecordRepository;
+import com.gaming.leaderboard.repository.UserGameStatsRepository;
+import com.gaming.leaderboard.writebehind.ScoreWriteBehindBuffer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.core.ZSetOperations;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Set;
+import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,126 +40,283 @@ import java.util.stream.Collectors;
 public class LeaderboardServiceImpl implements LeaderboardService {
 
     private final ScoreRecordRepository scoreRecordRepository;
-    private final StringRedisTemplate redisTemplate;
-    private final KafkaTemplate<String, ScoreRecordedEvent> kafkaTemplate;
-    private final RestTemplate restTemplate;
+    private final ScoreRecordJdbcRepository scoreRecordJdbcRepository;
+    private final UserGameStatsRepository userGameStatsRepository;
+    private final ScoreWriteBehindBuffer scoreWriteBehindBuffer;
+    private final LeaderboardRedisRepository leaderboardRedisRepository;
+    private final UsernameResolver usernameResolver;
+    private final TopScoresCache topScoresCache;
 
-    @Value("${services.user-profile.url:http://localhost:8081}")
-    private String userProfileUrl;
+    @Value("${leaderboard.history.stream-fetch-size:500}")
+    private int historyStreamFetchSize;
 
-    private static final String LEADERBOARD_KEY_PREFIX = "leaderboard:";
-    private static final String TOPIC_SCORE_RECORDED = "score-recorded";
+    // "consumer": Redis is updated by ScoreRankingConsumer from the score-recorded stream, not on the request thread
+    @Value("${leaderboard.ranking.mode:sync}")
+    private String rankingMode;
 
+    // Not @Transactional: the DB write runs in its own short transaction, so no pool connection
+    // is held while Redis is called, and Kafka is never called on the request thread
     @Override
-    @Transactional
     public ScoreResponseDTO submitScore(String userId, String username, ScoreSubmissionDTO submission) {
         log.debug("Submitting score for user {} ({}): {}", userId, username, submission);
 
-        // 1. Save to PostgreSQL
-        ScoreRecord record = ScoreRecord.builder()
+        // 1. Save to PostgreSQL (or to the write-behind log, flushed to PostgreSQL in batches).
+        //    The ScoreRecordedEvent goes into the outbox with the record and is published by ScoreEventOutboxRelay
+        ScoreRecord savedRecord = persist(ScoreRecord.builder()
                 .userId(userId)
                 .gameId(submission.getGameId())
                 .score(submission.getScore())
-                .build();
-        ScoreRecord savedRecord = scoreRecordRepository.save(record);
-
-        // 2. Update Redis Sorted Set (only if it's the new high score)
-        String redisKey = LEADERBOARD_KEY_PREFIX + submission.getGameId();
-        
-        Double currentScore = redisTemplate.opsForZSet().score(redisKey, userId);
-        log.debug("Current score in Redis for user {}: {}. New score: {}", userId, currentScore, submission.getScore());
-        
-        // Safety check: if Redis is missing or outdated compared to DB, we should also check DB best score
-        if (currentScore == null) {
-            Double dbBestScore = scoreRecordRepository.findByUserIdAndGameIdOrderByCreatedAtDesc(userId, submission.getGameId())
-                    .stream()
-                    .mapToDouble(ScoreRecord::getScore)
-                    .max()
+                .build());
+
+        if ("consumer".equalsIgnoreCase(rankingMode)) {
+            // Rank and personal best are not known yet; the leaderboards catch up once the event is consumed
+            if (username != null) {
+                saveDisplayNames(Map.of(submission.getGameId(), Map.of(userId, username)));
+            }
+            return mapToResponse(savedRecord);
+        }
+
+        // 2. Keep the best score in Redis atomically and store the display name next to it
+        LeaderboardRedisRepository.BestScoreUpdate update = leaderboardRedisRepository.submitScore(
+                submission.getGameId(), userId, username, submission.getScore());
+        Double previousBest = update.previousBest();
+        long rank = update.rank();
+
+        // Safety check: if Redis had no entry (e.g. after a flush) the DB may still know a better score
+        if (previousBest == null) {
+            double dbBestScore = scoreRecordRepository.findBestScore(userId, submission.getGameId())
                     .orElse(0.0);
-            currentScore = dbBestScore > 0 ? dbBestScore : null;
-            if (currentScore != null) {
-                log.info("Redis was empty but found best score in DB for user {}: {}. Syncing to Redis.", userId, currentScore);
-                redisTemplate.opsForZSet().add(redisKey, userId, currentScore);
+            if (dbBestScore > submission.getScore()) {
+                log.info("Redis was empty but found best score in DB for user {}: {}. Syncing to Redis.", userId, dbBestScore);
+                previousBest = dbBestScore;
+                rank = leaderboardRedisRepository.keepBest(submission.getGameId(), userId, dbBestScore);
             }
         }
 
-        if (currentScore == null || submission.getScore() > currentScore) {
-            log.info("Updating Redis leaderboard for user {} with new high score: {}. Previous best: {}", userId, submission.getScore(), currentScore);
-            redisTemplate.opsForZSet().add(redisKey, userId, submission.getScore());
-        } else {
-            log.debug("Score {} is not higher than current best {}, skipping Redis update", submission.getScore(), currentScore);
+        boolean personalBest = previousBest == null || submission.getScore() > previousBest;
+        // Even below the all-time best the score may be a daily, weekly or monthly best: the cache checks each
+        // cached page. Other instances hear about it from the score event
+        topScoresCache.scoreRecorded(submission.getGameId(), userId, submission.getScore());
+        log.debug("Score {} for user {} (previous best: {}, personal best: {}, rank: {})",
+                submission.getScore(), userId, previousBest, personalBest, rank);
+
+        ScoreResponseDTO response = mapToResponse(savedRecord);
+        response.setPreviousBest(previousBest);
+        response.setPersonalBest(personalBest);
+        response.setRank(rank);
+        return response;
+    }
+
+    @Override
+    public List<ScoreResponseDTO> submitScores(List<BatchScoreEntryDTO> entries) {
+        log.debug("Submitting {} scores in a batch", entries.size());
+
+        // 1. One batched insert (events go through the outbox, published in batches by ScoreEventOutboxRelay)
+        List<ScoreRecord> records = entries.stream()
+                .map(entry -> ScoreRecord.builder()
+                        .userId(entry.getUserId())
+                        .gameId(entry.getGameId())
+                        .score(entry.getScore())
+                        .build())
+                .toList();
+        persistAll(records);
+
+        List<ScoreResponseDTO> responses = records.stream().map(this::mapToResponse).toList();
+        if ("consumer".equalsIgnoreCase(rankingMode)) {
+            Map<String, Map<String, String>> names = new HashMap<>();
+            for (BatchScoreEntryDTO entry : entries) {
+                if (entry.getUsername() != null) {
+                    names.computeIfAbsent(entry.getGameId(), gameId -> new HashMap<>())
+                            .put(entry.getUserId(), entry.getUsername());
+                }
+            }
+            saveDisplayNames(names);
+            return responses;
         }
 
-        // 3. Publish Kafka Event
-        ScoreRecordedEvent event = ScoreRecordedEvent.builder()
-                .userId(userId)
-                .gameId(submission.getGameId())
-                .score(submission.getScore())
-                .timestamp(LocalDateTime.now())
-                .build();
-        kafkaTemplate.send(TOPIC_SCORE_RECORDED, event);
+        // 2. One pipelined round trip running the keep-best script for every entry.
+        //    Unlike submitScore there is no per-entry DB fallback: boards missing from Redis are restored by LeaderboardRebuilder
+        List<LeaderboardRedisRepository.ScoreSubmission> submissions = entries.stream()
+                .map(entry -> new LeaderboardRedisRepository.ScoreSubmission(
+                        entry.getGameId(), entry.getUserId(), entry.getUsername(), entry.getScore()))
+                .toList();
+        List<LeaderboardRedisRepository.BestScoreUpdate> updates = leaderboardRedisRepository.submitScores(submissions);
+
+        for (int i = 0; i < responses.size(); i++) {
+            ScoreResponseDTO response = responses.get(i);
+            LeaderboardRedisRepository.BestScoreUpdate update = updates.get(i);
+            response.setPreviousBest(update.previousBest());
+            response.setPersonalBest(update.previousBest() == null || response.getScore() > update.previousBest());
+            response.setRank(update.rank());
+            topScoresCache.scoreRecorded(response.getGameId(), response.getUserId(), response.getScore());
+        }
+        return responses;
+    }
+
+    // Consumer mode: score events carry no display name, so it is stored here for the leaderboard reads, which
+    // would otherwise ask user-profile-service for every new player. The score is already saved: a Redis failure
+    // only leaves the name to that fallback
+    private void saveDisplayNames(Map<String, Map<String, String>> namesByGame) {
+        namesByGame.forEach((gameId, names) -> {
+            try {
+                leaderboardRedisRepository.saveUsernames(gameId, names);
+            } catch (DataAccessException e) {
+                log.warn("Could not store display names for game {}: {}", gameId, e.getMessage());
+            }
+        });
+    }
 
-        return mapToResponse(savedRecord);
+    private ScoreRecord persist(ScoreRecord record) {
+        persistAll(List.of(record));
+        return record;
+    }
+
+    private void persistAll(List<ScoreRecord> records) {
+        // Ids and timestamps are assigned here so the insert can be batched (and deferred in write-behind mode)
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        List<ScoreRecord> synchronous = new ArrayList<>();
+        for (ScoreRecord record : records) {
+            record.setId(UuidV7.randomUuid());
+            record.setCreatedAt(now);
+            if (!scoreWriteBehindBuffer.offer(record)) {
+                synchronous.add(record);
+            }
+        }
+        scoreRecordJdbcRepository.insertAll(synchronous);
     }
 
     @Override
     public List<LeaderboardEntryDTO> getTopScores(String gameId, int limit) {
-        String redisKey = LEADERBOARD_KEY_PREFIX + gameId;
-        Set<ZSetOperations.TypedTuple<String>> topScores = redisTemplate.opsForZSet()
-                .reverseRangeWithScores(redisKey, 0, limit - 1);
+        return getScoresPage(gameId, LeaderboardWindow.ALL_TIME, limit, null).getEntries();
+    }
 
-        if (topScores == null) {
-            return List.of();
+    @Override
+    public LeaderboardPageDTO getScoresPage(String gameId, LeaderboardWindow window, int limit, String cursor) {
+        if (limit < 1) {
+            return LeaderboardPageDTO.builder().entries(List.of()).build();
+        }
+        if (cursor == null || cursor.isBlank()) {
+            TopScoresCache.Key key = new TopScoresCache.Key(gameId, window, limit);
+            LeaderboardPageDTO page = topScoresCache.get(key, k -> readScoresPage(gameId, window, limit, 0));
+            if (page.getEntries().stream().anyMatch(entry -> entry.getUsername() == null)) {
+                // Names are resolved outside the cache load, so a slow user-profile-service cannot hold the key.
+                // The cached page is never modified: a named copy replaces it
+                List<LeaderboardEntryDTO> entries = page.getEntries().stream()
+                        .map(entry -> new LeaderboardEntryDTO(entry.getRank(), entry.getUserId(), entry.getUsername(), entry.getScore()))
+                        .collect(Collectors.toList());
+                fillMissingUsernames(gameId, entries);
+                LeaderboardPageDTO named = new LeaderboardPageDTO(List.copyOf(entries), page.getNextCursor());
+                topScoresCache.replace(key, page, named);
+                return named;
+            }
+            return page;
         }
+        LeaderboardPageDTO page = readScoresPage(gameId, window, limit, LeaderboardCursor.decode(cursor));
+        fillMissingUsernames(gameId, page.getEntries());
+        return page;
+    }
+
+    // Reads a page from Redis; usernames not stored there yet are left null
+    private LeaderboardPageDTO readScoresPage(String gameId, LeaderboardWindow window, int limit, long start) {
+        // One extra entry tells whether there is a next page
+        List<LeaderboardEntryDTO> entries = leaderboardRedisRepository.findRange(gameId, window, start, start + limit);
+        String nextCursor = null;
+        if (entries.size() > limit) {
+            entries = entries.subList(0, limit);
+            nextCursor = LeaderboardCursor.encode(start + limit);
+        }
+        return LeaderboardPageDTO.builder()
+                .entries(List.copyOf(entries))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Override
+    public Optional<PlayerRankDTO> getPlayerRank(String gameId, LeaderboardWindow window, String userId, int neighbours) {
+        List<LeaderboardEntryDTO> entries = leaderboardRedisRepository.findAround(gameId, window, userId, neighbours);
+        fillMissingUsernames(gameId, entries);
+        return entries.stream()
+                .filter(entry -> entry.getUserId().equals(userId))
+                .findFirst()
+                .map(self -> PlayerRankDTO.builder()
+                        .gameId(gameId)
+                        .userId(userId)
+                        .rank(self.getRank())
+                        .score(self.getScore())
+                        .entries(entries)
+                        .build());
+    }
 
-        return topScores.stream()
-                .map(tuple -> {
-                    String userId = tuple.getValue();
-                    String username = fetchUsername(userId);
-                    return LeaderboardEntryDTO.builder()
-                            .userId(userId)
-                            .username(username)
-                            .score(tuple.getScore())
-                            .build();
-                })
+    // Entries written before display names were stored in Redis fall back to user-profile-service once
+    private void fillMissingUsernames(String gameId, List<LeaderboardEntryDTO> entries) {
+        List<String> missing = entries.stream()
+                .filter(entry -> entry.getUsername() == null)
+                .map(LeaderboardEntryDTO::getUserId)
                 .collect(Collectors.toList());
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        Map<String, String> usernames = usernameResolver.resolve(missing);
+        entries.stream()
+                .filter(entry -> entry.getUsername() == null)
+                .forEach(entry -> entry.setUsername(usernames.get(entry.getUserId())));
+
+        Map<String, String> resolved = new HashMap<>(usernames);
+        resolved.values().removeIf(UsernameResolver.UNKNOWN_USERNAME::equals);
+        if (!resolved.isEmpty()) {
+            leaderboardRedisRepository.saveUsernames(gameId, resolved);
+        }
     }
 
-    private String fetchUsername(String userId) {
-        try {
-            // Se userId è un email, proviamo a recuperare via email
-            String url;
-            if (userId.contains("@")) {
-                url = userProfileUrl + "/api/v1/users/email?email=" + userId;
-            } else {
-                url = userProfileUrl + "/api/v1/users/" + userId;
-            }
-            Map<String, Object> response = restTemplate.getForObject(url, Map.class);
-            if (response != null && response.containsKey("username")) {
-                return (String) response.get("username");
-            }
-        } catch (Exception e) {
-            log.warn("Could not fetch username for userId {}: {}", userId, e.getMessage());
+    @Override
+    public ScoreHistoryPageDTO getUserHistory(String userId, String gameId, int limit, String cursor) {
+        HistoryCursor after = HistoryCursor.decode(cursor);
+
+        // One extra record tells whether there is a next page
+        List<ScoreRecord> records = scoreRecordJdbcRepository.findHistoryPage(userId, gameId,
+                after == null ? null : after.createdAt(), after == null ? null : after.id(), limit + 1);
+        String nextCursor = null;
+        if (records.size() > limit) {
+            records = records.subList(0, limit);
+            ScoreRecord last = records.get(limit - 1);
+            nextCursor = new HistoryCursor(last.getCreatedAt(), last.getId()).encode();
         }
-        return "Unknown";
+        return ScoreHistoryPageDTO.builder()
+                .entries(records.stream().map(this::mapToResponse).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .build();
     }
 
     @Override
-    public List<ScoreResponseDTO> getUserHistory(String userId, String gameId) {
-        return scoreRecordRepository.findByUserIdAndGameIdOrderByCreatedAtDesc(userId, gameId)
+    public void streamUserHistory(String userId, String gameId, Consumer<ScoreResponseDTO> consumer) {
+        scoreRecordJdbcRepository.streamHistory(userId, gameId, historyStreamFetchSize,
+                record -> consumer.accept(mapToResponse(record)));
+    }
+
+    @Override
+    public List<UserGameStatsDTO> getUserStats(String userId) {
+        return userGameStatsRepository.findByUserIdOrderByGameId(userId)
                 .stream()
-                .map(this::mapToResponse)
+                .map(this::mapToStats)
                 .collect(Collectors.toList());
     }
 
     @Override
-    public List<ScoreResponseDTO> getAllUserHistory(String userId) {
-        log.info("Fetching all user history for userId: {}", userId);
-        List<ScoreRecord> records = scoreRecordRepository.findByUserIdOrderByCreatedAtDesc(userId);
-        log.info("Found {} records for userId: {}", records.size(), userId);
-        return records.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public Optional<UserGameStatsDTO> getUserGameStats(String userId, String gameId) {
+        return userGameStatsRepository.findById(new UserGameStats.Key(userId, gameId))
+                .map(this::mapToStats);
+    }
+
+    private UserGameStatsDTO mapToStats(UserGameStats stats) {
+        return UserGameStatsDTO.builder()
+                .gameId(stats.getGameId())
+                .bestScore(stats.getBestScore())
+                .gamesPlayed(stats.getGamesPlayed())
+                .totalScore(stats.getTotalScore())
+                .averageScore(stats.getTotalScore() / stats.getGamesPlayed())
+                .lastPlayedAt(stats.getLastPlayedAt())
+                .build();
     }
 
     private ScoreResponseDTO mapToResponse(ScoreRecord record) {
@@ -0,0 +1,71 @@
+package com.gaming.leaderboard.service;
+
+import com.gaming.leaderboard.dto.LeaderboardEntryDTO;
+import com.gaming.leaderboard.dto.LeaderboardPageDTO;
+import com.gaming.leaderboard.model.LeaderboardWindow;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Short-lived in-process cache of the first page of each leaderboard, per game, window and page size.
+ * Concurrent misses for the same key share one load. Entries are dropped as soon as a score that could enter
+ * them is recorded ({@link #scoreRecorded}); the TTL bounds staleness for anything else (e.g. renamed users).
+ */
+@Component
+public class TopScoresCache {
+
+    public record Key(String gameId, LeaderboardWindow window, int limit) {
+    }
+
+    private final Cache<Key, LeaderboardPageDTO> cache;
+
+    public TopScoresCache(MeterRegistry meterRegistry,
+                          @Value("${leaderboard.top-cache.maximum-size:1000}") long maximumSize,
+                          @Value("${leaderboard.top-cache.ttl:5s}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "top-scores");
+    }
+
+    public LeaderboardPageDTO get(Key key, Function<Key, LeaderboardPageDTO> loader) {
+        return cache.get(key, loader);
+    }
+
+    /**
+     * Replaces the cached page of {@code key} with {@code replacement}, unless it has been dropped or reloaded
+     * since {@code expected} was read.
+     */
+    public void replace(Key key, LeaderboardPageDTO expected, LeaderboardPageDTO replacement) {
+        cache.asMap().replace(key, expected, replacement);
+    }
+
+    /**
+     * Drops the cached pages of {@code gameId} that a new best {@code score} of {@code userId} could change.
+     */
+    public void scoreRecorded(String gameId, String userId, double score) {
+        cache.asMap().entrySet().removeIf(cached -> cached.getKey().gameId().equals(gameId)
+                && couldChange(cached.getValue().getEntries(), cached.getKey().limit(), userId, score));
+    }
+
+    static boolean couldChange(List<LeaderboardEntryDTO> entries, int limit, String userId, double score) {
+        for (LeaderboardEntryDTO entry : entries) {
+            if (entry.getUserId().equals(userId)) {
+                // Already listed: only a better score moves anything (ZADD GT)
+                return score > entry.getScore();
+            }
+        }
+        // Ties count: equal scores are ordered by member, so the user may still enter
+        return entries.size() < limit || score >= entries.get(entries.size() - 1).getScore();
+    }
+}
@@ -0,0 +1,126 @@
+package com.gaming.leaderboard.writebehind;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gaming.leaderboard.model.ScoreRecord;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of accepted score submissions (one JSON line per record), split into numbered
+ * segment files. Not thread-safe: callers serialize {@link #append} and {@link #roll}.
+ */
+@Slf4j
+class ScoreWriteAheadLog implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "scores-";
+    private static final String SEGMENT_SUFFIX = ".wal";
+
+    private final Path directory;
+    private final boolean fsync;
+    private final ObjectMapper objectMapper;
+
+    private long currentSegment;
+    private FileChannel currentChannel;
+
+    ScoreWriteAheadLog(Path directory, boolean fsync, ObjectMapper objectMapper) throws IOException {
+        this.directory = directory;
+        this.fsync = fsync;
+        this.objectMapper = objectMapper;
+        Files.createDirectories(directory);
+        this.currentSegment = segmentNumbers().stream().mapToLong(Long::longValue).max().orElse(0) + 1;
+        this.currentChannel = open(currentSegment);
+    }
+
+    /**
+     * Reads back the records of the segments left over by a previous run.
+     * A truncated last line (crash in the middle of a write) is skipped.
+     */
+    List<ScoreRecord> readExisting() throws IOException {
+        List<ScoreRecord> records = new ArrayList<>();
+        for (long segment : segmentNumbers()) {
+            if (segment >= currentSegment) {
+                continue;
+            }
+            for (String line : Files.readAllLines(segmentPath(segment), StandardCharsets.UTF_8)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    records.add(objectMapper.readValue(line, ScoreRecord.class));
+                } catch (IOException e) {
+                    log.warn("Skipping unreadable write-ahead log entry in segment {}: {}", segment, e.getMessage());
+                }
+            }
+        }
+        return records;
+    }
+
+    void append(ScoreRecord record) throws IOException {
+        ByteBuffer line = ByteBuffer.wrap((objectMapper.writeValueAsString(record) + "\n").getBytes(StandardCharsets.UTF_8));
+        while (line.hasRemaining()) {
+            currentChannel.write(line);
+        }
+        if (fsync) {
+            currentChannel.force(false);
+        }
+    }
+
+    /**
+     * Seals the current segment and starts a new one.
+     *
+     * @return the number of the sealed segment
+     */
+    long roll() throws IOException {
+        currentChannel.close();
+        long sealed = currentSegment;
+        currentSegment++;
+        currentChannel = open(currentSegment);
+        return sealed;
+    }
+
+    /**
+     * Deletes every segment up to and including {@code segment}.
+     */
+    void deleteUpTo(long segment) throws IOException {
+        for (long number : segmentNumbers()) {
+            if (number <= segment) {
+                Files.deleteIfExists(segmentPath(number));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        currentChannel.close();
+    }
+
+    private FileChannel open(long segment) throws IOException {
+        return FileChannel.open(segmentPath(segment),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+    }
+
+    private List<Long> segmentNumbers() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+}
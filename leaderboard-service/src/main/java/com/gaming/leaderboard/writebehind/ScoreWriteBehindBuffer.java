@@ -0,0 +1,186 @@
+package com.gaming.leaderboard.writebehind;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gaming.leaderboard.model.ScoreRecord;
+import com.gaming.leaderboard.repository.ScoreRecordJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Opt-in write-behind persistence of score submissions ({@code leaderboard.write-behind.enabled}).
+ * A submission is acknowledged once it is in the local write-ahead log; a background flush then
+ * stores the queued records in PostgreSQL with JDBC batch inserts. WAL segments are deleted only
+ * after all of their records are stored, and leftovers are re-queued on the next startup.
+ */
+@Component
+@Slf4j
+public class ScoreWriteBehindBuffer {
+
+    private final ScoreRecordJdbcRepository scoreRecordJdbcRepository;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int flushSize;
+    private final int maxPending;
+    private final Path walDirectory;
+    private final boolean walFsync;
+
+    private final BlockingQueue<ScoreRecord> queue = new LinkedBlockingQueue<>();
+    // Locks rather than monitors: a virtual thread blocked in a synchronized block (WAL fsync) would pin its carrier
+    private final ReentrantLock walLock = new ReentrantLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Timer flushTimer;
+    private final Counter rejectedCounter;
+
+    private ScoreWriteAheadLog wal;
+
+    public ScoreWriteBehindBuffer(ScoreRecordJdbcRepository scoreRecordJdbcRepository,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${leaderboard.write-behind.enabled:false}") boolean enabled,
+                                  @Value("${leaderboard.write-behind.flush-size:500}") int flushSize,
+                                  @Value("${leaderboard.write-behind.max-pending:10000}") int maxPending,
+                                  @Value("${leaderboard.write-behind.wal.directory:./data/score-wal}") Path walDirectory,
+                                  @Value("${leaderboard.write-behind.wal.fsync:true}") boolean walFsync) {
+        this.scoreRecordJdbcRepository = scoreRecordJdbcRepository;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.flushSize = flushSize;
+        this.maxPending = maxPending;
+        this.walDirectory = walDirectory;
+        this.walFsync = walFsync;
+
+        Gauge.builder("leaderboard.writebehind.queue.depth", queue, BlockingQueue::size)
+                .description("Score records accepted but not yet stored in PostgreSQL")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("leaderboard.writebehind.flush")
+                .description("Latency of one batch insert of queued score records")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("leaderboard.writebehind.rejected")
+                .description("Submissions stored synchronously because the write-behind queue was full")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        wal = new ScoreWriteAheadLog(walDirectory, walFsync, objectMapper);
+        List<ScoreRecord> recovered = wal.readExisting();
+        if (!recovered.isEmpty()) {
+            log.info("Recovered {} unflushed score records from the write-ahead log in {}", recovered.size(), walDirectory);
+            queue.addAll(recovered);
+        }
+        log.info("Write-behind persistence enabled (flush size {}, max pending {}, WAL in {})", flushSize, maxPending, walDirectory);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Accepts a record for asynchronous persistence once it is written to the write-ahead log.
+     * Returns false when write-behind is disabled, the backlog has reached {@code max-pending} or the
+     * log cannot be written: the caller must then store the record itself.
+     */
+    public boolean offer(ScoreRecord record) {
+        if (!enabled) {
+            return false;
+        }
+        if (queue.size() >= maxPending) {
+            rejectedCounter.increment();
+            return false;
+        }
+        walLock.lock();
+        try {
+            wal.append(record);
+            queue.add(record);
+            return true;
+        } catch (IOException e) {
+            log.error("Could not write score record {} to the write-ahead log", record.getId(), e);
+            return false;
+        } finally {
+            walLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${leaderboard.write-behind.flush-interval-ms:200}")
+    public void flush() {
+        if (!enabled || queue.isEmpty()) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushPending() {
+        long sealedSegment;
+        List<ScoreRecord> pending = new ArrayList<>();
+        walLock.lock();
+        try {
+            sealedSegment = wal.roll();
+            // Everything drained here was appended to a segment up to sealedSegment
+            queue.drainTo(pending);
+        } catch (IOException e) {
+            log.error("Could not roll the write-ahead log, flush skipped", e);
+            return;
+        } finally {
+            walLock.unlock();
+        }
+
+        int flushed = 0;
+        try {
+            while (flushed < pending.size()) {
+                List<ScoreRecord> batch = pending.subList(flushed, Math.min(flushed + flushSize, pending.size()));
+                flushTimer.record(() -> scoreRecordJdbcRepository.insertAll(batch));
+                flushed += batch.size();
+            }
+        } catch (Exception e) {
+            // Keep the WAL segments: the retried records are still in them
+            log.error("Write-behind flush failed, {} score records will be retried", pending.size() - flushed, e);
+            queue.addAll(pending.subList(flushed, pending.size()));
+            return;
+        }
+
+        try {
+            wal.deleteUpTo(sealedSegment);
+        } catch (IOException e) {
+            log.warn("Could not delete flushed write-ahead log segments: {}", e.getMessage());
+        }
+        log.debug("Flushed {} score records", flushed);
+    }
+
+    @PreDestroy
+    void stop() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        flush();
+        walLock.lock();
+        try {
+            wal.close();
+        } finally {
+            walLock.unlock();
+        }
+    }
+}
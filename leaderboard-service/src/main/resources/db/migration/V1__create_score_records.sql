@@ -0,0 +1,9 @@
+-- Leaderboard Service - score history
+-- IF NOT EXISTS: databases created before Flyway already have this table (from ddl-auto: update)
+CREATE TABLE IF NOT EXISTS score_records (
+    id UUID PRIMARY KEY,
+    user_id VARCHAR(255) NOT NULL,
+    game_id VARCHAR(255) NOT NULL,
+    score DOUBLE PRECISION NOT NULL,
+    created_at TIMESTAMP(6)
+);
@@ -0,0 +1,3 @@
+-- Serves MAX(score) per (user, game) from the index instead of scanning the user's history
+CREATE INDEX IF NOT EXISTS idx_score_records_user_game_score
+    ON score_records (user_id, game_id, score DESC);
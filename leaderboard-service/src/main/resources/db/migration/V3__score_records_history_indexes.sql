@@ -0,0 +1,5 @@
+-- Keyset pagination of a user's history on (created_at, id), newest first, with or without a game filter
+CREATE INDEX IF NOT EXISTS idx_score_records_user_created
+    ON score_records (user_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_score_records_user_game_created
+    ON score_records (user_id, game_id, created_at DESC, id DESC);
@@ -0,0 +1,18 @@
+-- Per-user, per-game aggregates, maintained in the same statement as every score insert,
+-- so profile pages read one row per game instead of the whole history
+CREATE TABLE IF NOT EXISTS user_game_stats (
+    user_id VARCHAR(255) NOT NULL,
+    game_id VARCHAR(255) NOT NULL,
+    best_score DOUBLE PRECISION NOT NULL,
+    games_played BIGINT NOT NULL,
+    total_score DOUBLE PRECISION NOT NULL,
+    last_played_at TIMESTAMP(6),
+    PRIMARY KEY (user_id, game_id)
+);
+
+-- Backfill from the existing history
+INSERT INTO user_game_stats (user_id, game_id, best_score, games_played, total_score, last_played_at)
+SELECT user_id, game_id, MAX(score), COUNT(*), SUM(score), MAX(created_at)
+FROM score_records
+GROUP BY user_id, game_id
+ON CONFLICT (user_id, game_id) DO NOTHING;
@@ -0,0 +1,12 @@
+-- Transactional outbox: one row per stored score, written by the same statement as the score itself
+-- and deleted by the relay once Kafka has acknowledged the event.
+-- score_record_id is a UUIDv7, so ordering by it follows insertion time.
+CREATE TABLE IF NOT EXISTS score_event_outbox (
+    score_record_id UUID PRIMARY KEY,
+    user_id VARCHAR(255) NOT NULL,
+    game_id VARCHAR(255) NOT NULL,
+    score DOUBLE PRECISION NOT NULL,
+    recorded_at TIMESTAMP(6),
+    -- Lease of the relay instance currently publishing the row; expired leases are picked up again
+    locked_until TIMESTAMP(6)
+);
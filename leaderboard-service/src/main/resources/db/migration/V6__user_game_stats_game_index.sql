@@ -0,0 +1,4 @@
+-- Lists the games with stored scores by skipping from one game_id to the next (see ScoreRecordJdbcRepository),
+-- instead of scanning score_records at every startup
+CREATE INDEX IF NOT EXISTS idx_user_game_stats_game
+    ON user_game_stats (game_id);
@@ -0,0 +1,35 @@
+-- Reads a page of a leaderboard together with the stored display names in one round trip.
+-- KEYS[1] = leaderboard sorted set, KEYS[2] = display name hash
+-- ARGV[1] = start rank, ARGV[2] = stop rank (both inclusive, 0-based, highest score first)
+-- ARGV[3] = optional member: when given, start and stop are offsets from that member's rank
+-- Reply: empty when the member has no entry, otherwise the start rank followed by
+--        member, score, name triples (name is nil when not stored yet)
+local start = tonumber(ARGV[1])
+local stop = tonumber(ARGV[2])
+if ARGV[3] then
+    local rank = redis.call('ZREVRANK', KEYS[1], ARGV[3])
+    if not rank then
+        return {}
+    end
+    start = math.max(rank + start, 0)
+    stop = rank + stop
+end
+
+local entries = redis.call('ZREVRANGE', KEYS[1], start, stop, 'WITHSCORES')
+local reply = { start }
+if #entries == 0 then
+    return reply
+end
+
+local members = {}
+for i = 1, #entries, 2 do
+    members[#members + 1] = entries[i]
+end
+
+local names = redis.call('HMGET', KEYS[2], unpack(members))
+for i = 1, #members do
+    reply[#reply + 1] = members[i]
+    reply[#reply + 1] = entries[i * 2]
+    reply[#reply + 1] = names[i]
+end
+return reply
@@ -0,0 +1,11 @@
+-- Swaps a rebuilt leaderboard in for the live one.
+-- KEYS[1] = live leaderboard sorted set, KEYS[2] = rebuilt copy
+-- Scores written to the live set while the copy was being built are kept (highest score wins),
+-- then the copy replaces the live set in the same atomic step.
+-- Reply: number of entries in the live set afterwards
+if redis.call('EXISTS', KEYS[1]) == 1 then
+    redis.call('ZUNIONSTORE', KEYS[2], 2, KEYS[2], KEYS[1], 'AGGREGATE', 'MAX')
+end
+redis.call('PERSIST', KEYS[2])
+redis.call('RENAME', KEYS[2], KEYS[1])
+return redis.call('ZCARD', KEYS[1])
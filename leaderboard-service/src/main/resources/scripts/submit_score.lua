@@ -0,0 +1,19 @@
+-- Atomically keeps the best score of a member and stores its display name.
+-- KEYS[1] = all-time leaderboard sorted set, KEYS[2] = display name hash
+-- KEYS[3..n] = time-window sorted sets (daily, weekly, ...) of the current periods
+-- ARGV[1] = member, ARGV[2] = submitted score, ARGV[3] = display name (empty: keep the stored one)
+-- ARGV[4..] = EXPIREAT timestamp (unix seconds) of each window key, in the same order as KEYS[3..n]
+-- Reply: { previous all-time best (nil when the member was absent), all-time rank after the update (0-based, best first) }
+local previous = redis.call('ZSCORE', KEYS[1], ARGV[1])
+if not previous or tonumber(ARGV[2]) > tonumber(previous) then
+    redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1])
+end
+if ARGV[3] ~= '' then
+    redis.call('HSET', KEYS[2], ARGV[1], ARGV[3])
+end
+
+for i = 3, #KEYS do
+    redis.call('ZADD', KEYS[i], 'GT', ARGV[2], ARGV[1])
+    redis.call('EXPIREAT', KEYS[i], ARGV[i + 1], 'NX')
+end
+return { previous, redis.call('ZREVRANK', KEYS[1], ARGV[1]) }
@@ -1,5 +1,7 @@
 package com.gaming.leaderboard;
 
+import com.gaming.leaderboard.dto.BatchScoreEntryDTO;
+import com.gaming.leaderboard.dto.BatchScoreSubmissionDTO;
 import com.gaming.leaderboard.dto.LeaderboardEntryDTO;
 import com.gaming.leaderboard.dto.ScoreResponseDTO;
 import com.gaming.leaderboard.dto.ScoreSubmissionDTO;
@@ -11,12 +13,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.context.ApplicationContextInitializer;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.JwtRequestPostProcessor;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.testcontainers.containers.KafkaContainer;
 import org.testcontainers.containers.GenericContainer;
 import org.testcontainers.containers.PostgreSQLContainer;
@@ -30,9 +38,12 @@ import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -50,6 +61,12 @@ public class LeaderboardIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Container
     public static PostgreSQLContainer<?> postgreSQLContainer = new PostgreSQLContainer<>("postgres:15-alpine");
 
@@ -76,6 +93,13 @@ public class LeaderboardIntegrationTest {
     @BeforeEach
     void setUp() {
         scoreRecordRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM user_game_stats");
+        jdbcTemplate.update("DELETE FROM score_event_outbox");
+        // Leaderboards of one test must not leak into the next (several tests share game ids)
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        });
     }
 
     @Test
@@ -83,7 +107,7 @@ public class LeaderboardIntegrationTest {
         ScoreSubmissionDTO submission = new ScoreSubmissionDTO("game-1", 100.0);
 
         mockMvc.perform(post("/api/leaderboard/scores")
-                        .with(jwt().jwt(j -> j.subject("user-1")))
+                        .with(asUser("user-1"))
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(submission)))
                 .andExpect(status().isCreated())
@@ -102,7 +126,7 @@ public class LeaderboardIntegrationTest {
         submitScore("user-3", "game-1", 150.0);
 
         mockMvc.perform(get("/api/leaderboard/top/game-1")
-                        .with(jwt().jwt(j -> j.subject("user-1"))))
+                        .with(asUser("user-1")))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value(3))
                 .andExpect(jsonPath("$[0].userId").value("user-2"))
@@ -113,25 +137,310 @@ public class LeaderboardIntegrationTest {
                 .andExpect(jsonPath("$[2].score").value(100.0));
     }
 
+    @Test
+    void getTopScores_ShouldAnswerNotModifiedUntilTheTopChanges() throws Exception {
+        submitScore("user-1", "game-7", 100.0);
+
+        String etag = mockMvc.perform(get("/api/leaderboard/top/game-7")
+                        .with(asUser("user-1")))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/leaderboard/top/game-7")
+                        .header("If-None-Match", etag)
+                        .with(asUser("user-1")))
+                .andExpect(status().isNotModified());
+
+        submitScore("user-2", "game-7", 200.0);
+
+        mockMvc.perform(get("/api/leaderboard/top/game-7")
+                        .header("If-None-Match", etag)
+                        .with(asUser("user-1")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void getTopScores_ShouldRefreshWindowedPageOnWindowBestBelowAllTimeBest() throws Exception {
+        // All-time best from an earlier day: today's score is only a daily (and weekly, monthly) best
+        redisTemplate.opsForZSet().add("leaderboard:game-9", "user-1", 500.0);
+        mockMvc.perform(get("/api/leaderboard/top/game-9")
+                        .param("window", "daily")
+                        .with(asUser("user-1")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        submitScore("user-1", "game-9", 100.0);
+
+        mockMvc.perform(get("/api/leaderboard/top/game-9")
+                        .param("window", "daily")
+                        .with(asUser("user-1")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].score").value(100.0));
+    }
+
     @Test
     void getUserHistory_ShouldReturnHistory() throws Exception {
         submitScore("user-1", "game-1", 100.0);
         submitScore("user-1", "game-1", 120.0);
 
         mockMvc.perform(get("/api/leaderboard/history/game-1")
-                        .with(jwt().jwt(j -> j.subject("user-1"))))
+                        .with(asUser("user-1")))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value(2))
                 .andExpect(jsonPath("$[0].score").value(120.0))
                 .andExpect(jsonPath("$[1].score").value(100.0));
     }
 
+    @Test
+    void getUserHistory_ShouldPageWithCursor() throws Exception {
+        submitScore("user-1", "game-1", 100.0);
+        submitScore("user-1", "game-1", 110.0);
+        submitScore("user-1", "game-1", 120.0);
+
+        MvcResult firstPage = mockMvc.perform(get("/api/leaderboard/history/game-1")
+                        .param("limit", "2")
+                        .with(asUser("user-1")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].score").value(120.0))
+                .andExpect(jsonPath("$[1].score").value(110.0))
+                .andReturn();
+        String cursor = firstPage.getResponse().getHeader("X-Next-Cursor");
+        assertThat(cursor).isNotNull();
+
+        mockMvc.perform(get("/api/leaderboard/history/game-1")
+                        .param("limit", "2")
+                        .param("cursor", cursor)
+                        .with(asUser("user-1")))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].score").value(100.0));
+    }
+
+    @Test
+    void getUserHistory_ShouldStreamNdjson() throws Exception {
+        submitScore("user-1", "game-1", 100.0);
+        submitScore("user-1", "game-2", 120.0);
+
+        MvcResult result = mockMvc.perform(get("/api/leaderboard/history")
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .with(asUser("user-1")))
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[0], ScoreResponseDTO.class).getScore()).isEqualTo(120.0);
+        assertThat(objectMapper.readValue(lines[1], ScoreResponseDTO.class).getScore()).isEqualTo(100.0);
+    }
+
+    @Test
+    void getUserStats_ShouldAggregateSubmissions() throws Exception {
+        submitScore("user-1", "game-1", 100.0);
+        submitScore("user-1", "game-1", 120.0);
+        submitScore("user-1", "game-2", 50.0);
+
+        mockMvc.perform(get("/api/leaderboard/stats/game-1")
+                        .with(asUser("user-1")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bestScore").value(120.0))
+                .andExpect(jsonPath("$.gamesPlayed").value(2))
+                .andExpect(jsonPath("$.totalScore").value(220.0))
+                .andExpect(jsonPath("$.averageScore").value(110.0));
+
+        mockMvc.perform(get("/api/leaderboard/stats")
+                        .with(asUser("user-1")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].gameId").value("game-2"));
+
+        mockMvc.perform(get("/api/leaderboard/stats/game-3")
+                        .with(asUser("user-1")))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void submitScore_ShouldPublishEventThroughOutbox() throws Exception {
+        submitScore("user-1", "game-1", 100.0);
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        Integer pending;
+        do {
+            Thread.sleep(100);
+            pending = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM score_event_outbox", Integer.class);
+        } while (pending > 0 && System.currentTimeMillis() < deadline);
+        assertThat(pending).isZero();
+    }
+
+    @Test
+    void getPlayerRank_ShouldReturnRankAndNeighbours() throws Exception {
+        submitScore("a@example.com", "game-2", 300.0);
+        submitScore("b@example.com", "game-2", 200.0);
+        submitScore("c@example.com", "game-2", 100.0);
+
+        mockMvc.perform(get("/api/leaderboard/rank/game-2")
+                        .param("neighbours", "1")
+                        .with(asUser("b@example.com")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rank").value(2))
+                .andExpect(jsonPath("$.score").value(200.0))
+                .andExpect(jsonPath("$.entries.length()").value(3))
+                .andExpect(jsonPath("$.entries[0].userId").value("a@example.com"))
+                .andExpect(jsonPath("$.entries[2].userId").value("c@example.com"));
+
+        mockMvc.perform(get("/api/leaderboard/rank/game-2")
+                        .with(asUser("nobody@example.com")))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getTopScores_ShouldReadTimeWindowedLeaderboards() throws Exception {
+        submitScore("user-1", "game-3", 100.0);
+        submitScore("user-1", "game-3", 80.0);
+
+        for (String window : new String[]{"daily", "weekly", "monthly"}) {
+            mockMvc.perform(get("/api/leaderboard/top/game-3")
+                            .param("window", window)
+                            .with(asUser("user-1")))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(1))
+                    .andExpect(jsonPath("$[0].score").value(100.0));
+        }
+
+        mockMvc.perform(get("/api/leaderboard/top/game-3")
+                        .param("window", "yearly")
+                        .with(asUser("user-1")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void actuator_ShouldOnlyExposeHealthAndInfoWithoutAdminRole() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(get("/actuator/metrics")
+                        .with(asUser("user-1")))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/actuator/metrics")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN"))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void rebuildEndpoint_ShouldRestoreLeaderboardFromDatabase() throws Exception {
+        submitScore("user-1", "game-4", 100.0);
+        submitScore("user-1", "game-4", 120.0);
+        submitScore("user-2", "game-4", 90.0);
+        redisTemplate.delete("leaderboard:game-4");
+
+        mockMvc.perform(post("/actuator/leaderboards")
+                        .with(asUser("user-1")))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(post("/actuator/leaderboards")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN")))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"gameId\": \"game-4\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.game-4").value(2));
+
+        mockMvc.perform(get("/api/leaderboard/top/game-4")
+                        .with(asUser("user-1")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].score").value(120.0))
+                .andExpect(jsonPath("$[1].score").value(90.0));
+    }
+
+    @Test
+    void submitScores_ShouldReportPersonalBestsPerEntry() throws Exception {
+        submitScore("a@example.com", "game-5", 500.0);
+        BatchScoreSubmissionDTO batch = new BatchScoreSubmissionDTO(List.of(
+                BatchScoreEntryDTO.builder().userId("a@example.com").gameId("game-5").score(400.0).build(),
+                BatchScoreEntryDTO.builder().userId("b@example.com").gameId("game-5").score(600.0).build(),
+                BatchScoreEntryDTO.builder().userId("b@example.com").gameId("game-5").score(550.0).build()));
+
+        mockMvc.perform(post("/api/leaderboard/scores/batch")
+                        .with(asUser("user-1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(post("/api/leaderboard/scores/batch")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_GAME_SERVER")))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].personalBest").value(false))
+                .andExpect(jsonPath("$[0].previousBest").value(500.0))
+                .andExpect(jsonPath("$[1].personalBest").value(true))
+                .andExpect(jsonPath("$[1].rank").value(1))
+                .andExpect(jsonPath("$[2].personalBest").value(false));
+
+        assertThat(scoreRecordRepository.count()).isEqualTo(4);
+    }
+
+    @Test
+    void submitScores_ShouldKeepStoredNameForEntriesWithoutUsername() throws Exception {
+        mockMvc.perform(post("/api/leaderboard/scores")
+                        .with(jwt().jwt(j -> j.claim("email", "a@example.com").claim("preferred_username", "Alice")))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ScoreSubmissionDTO("game-8", 100.0))))
+                .andExpect(status().isCreated());
+        BatchScoreSubmissionDTO batch = new BatchScoreSubmissionDTO(List.of(
+                BatchScoreEntryDTO.builder().userId("a@example.com").gameId("game-8").score(200.0).build()));
+
+        mockMvc.perform(post("/api/leaderboard/scores/batch")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_GAME_SERVER")))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isCreated());
+
+        assertThat(redisTemplate.opsForHash().get("leaderboard:game-8:names", "a@example.com")).isEqualTo("Alice");
+        mockMvc.perform(get("/api/leaderboard/top/game-8")
+                        .with(asUser("a@example.com")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].score").value(200.0))
+                .andExpect(jsonPath("$[0].username").value("Alice"));
+    }
+
+    @Test
+    void streamLeaderboard_ShouldStartWithSnapshot() throws Exception {
+        submitScore("user-1", "game-6", 100.0);
+
+        MvcResult result = mockMvc.perform(get("/api/leaderboard/stream/game-6")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .with(asUser("user-1")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertThat(result.getResponse().getContentAsString())
+                .startsWith("event:snapshot")
+                .contains("\"score\":100.0");
+    }
+
     private void submitScore(String userId, String gameId, Double score) throws Exception {
         ScoreSubmissionDTO submission = new ScoreSubmissionDTO(gameId, score);
         mockMvc.perform(post("/api/leaderboard/scores")
-                        .with(jwt().jwt(j -> j.subject(userId)))
+                        .with(asUser(userId))
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(submission)))
                 .andExpect(status().isCreated());
     }
+
+    // LeaderboardController identifies players by the email claim of their token
+    private static JwtRequestPostProcessor asUser(String userId) {
+        return jwt().jwt(j -> j.subject(userId).claim("email", userId));
+    }
 }
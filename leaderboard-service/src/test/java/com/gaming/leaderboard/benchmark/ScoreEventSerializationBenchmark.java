@@ -0,0 +1,103 @@
+package com.gaming.leaderboard.benchmark;
+
+import com.gaming.leaderboard.kafka.ScoreRecordedEvent;
+import com.gaming.leaderboard.kafka.ScoreRecordedEventDeserializer;
+import com.gaming.leaderboard.kafka.ScoreRecordedEventSerializer;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode cost and size of a ScoreRecordedEvent, JSON vs the binary-v1 layout.
+ * Not part of the normal build, run it with:
+ * <pre>mvn test -Dtest=ScoreEventSerializationBenchmark -Dbenchmark=true</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(0)
+public class ScoreEventSerializationBenchmark {
+
+    private static final String TOPIC = "score-recorded";
+
+    @Param({"json", "binary"})
+    public String format;
+
+    private ScoreRecordedEventSerializer serializer;
+    private ScoreRecordedEventDeserializer deserializer;
+    private ScoreRecordedEvent event;
+    private RecordHeaders headers;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        serializer = serializer(format);
+        deserializer = new ScoreRecordedEventDeserializer();
+        event = sampleEvent();
+        headers = new RecordHeaders();
+        encoded = serializer.serialize(TOPIC, headers, event);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return serializer.serialize(TOPIC, new RecordHeaders(), event);
+    }
+
+    @Benchmark
+    public ScoreRecordedEvent decode() {
+        return deserializer.deserialize(TOPIC, headers, encoded);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void run() throws RunnerException {
+        for (String format : new String[]{"json", "binary"}) {
+            RecordHeaders recordHeaders = new RecordHeaders();
+            int size = serializer(format).serialize(TOPIC, recordHeaders, sampleEvent()).length;
+            int headerSize = 0;
+            for (Header header : recordHeaders) {
+                headerSize += header.key().length() + header.value().length;
+            }
+            System.out.printf("%s: %d bytes per event (+ %d header bytes)%n", format, size, headerSize);
+        }
+        new Runner(new OptionsBuilder()
+                .include(ScoreEventSerializationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    private static ScoreRecordedEventSerializer serializer(String format) {
+        ScoreRecordedEventSerializer serializer = new ScoreRecordedEventSerializer();
+        serializer.configure(Map.of(ScoreRecordedEventSerializer.FORMAT_CONFIG, format), false);
+        return serializer;
+    }
+
+    private static ScoreRecordedEvent sampleEvent() {
+        return ScoreRecordedEvent.builder()
+                .userId("player.one@example.com")
+                .gameId("space-invaders")
+                .score(48250.0)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+}
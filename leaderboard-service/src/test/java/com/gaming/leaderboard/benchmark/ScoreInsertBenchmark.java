@@ -0,0 +1,103 @@
+package com.gaming.leaderboard.benchmark;
+
+import com.gaming.leaderboard.model.ScoreRecord;
+import com.gaming.leaderboard.model.UuidV7;
+import com.gaming.leaderboard.repository.ScoreRecordJdbcRepository;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Insert throughput of the score write path: the production {@link ScoreRecordJdbcRepository#insertAll}
+ * statement (score_records, outbox and user_game_stats) on the schema built by the Flyway migrations,
+ * called with one record per statement and with batches as the write-behind flush sends them.
+ * Every case runs the same statement, so this isolates batching and the id strategy; it does not reproduce
+ * the JPA save() path used before the write path was batched.
+ * Not part of the normal build, run it with:
+ * <pre>mvn test -Dtest=ScoreInsertBenchmark -Dbenchmark=true</pre>
+ */
+@Testcontainers
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ScoreInsertBenchmark {
+
+    private static final int ROWS = 50_000;
+    private static final int BATCH_SIZE = 500;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    private static JdbcTemplate jdbcTemplate;
+    private static ScoreRecordJdbcRepository repository;
+
+    @BeforeAll
+    static void migrate() {
+        DataSource dataSource = new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        repository = new ScoreRecordJdbcRepository(jdbcTemplate);
+    }
+
+    @BeforeEach
+    void truncate() {
+        jdbcTemplate.execute("TRUNCATE score_records, score_event_outbox, user_game_stats");
+    }
+
+    @Test
+    void randomUuidOneStatementPerRow() {
+        // One statement and one commit per submission, as without write-behind
+        run("v4 ids, one record per statement", UUID::randomUUID, 1);
+    }
+
+    @Test
+    void uuidV7Batches() {
+        run("v7 ids, batch " + BATCH_SIZE, UuidV7::randomUuid, BATCH_SIZE);
+    }
+
+    @Test
+    void randomUuidBatches() {
+        // Isolates the effect of the id strategy on the primary key indexes
+        run("v4 ids, batch " + BATCH_SIZE, UUID::randomUUID, BATCH_SIZE);
+    }
+
+    private void run(String label, Supplier<UUID> ids, int batchSize) {
+        long start = System.nanoTime();
+        List<ScoreRecord> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < ROWS; i++) {
+            batch.add(ScoreRecord.builder()
+                    .id(ids.get())
+                    .userId("user-" + (i % 1_000) + "@example.com")
+                    .gameId("game-" + (i % 10))
+                    .score((double) i)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+            if (batch.size() == batchSize) {
+                repository.insertAll(batch);
+                batch.clear();
+            }
+        }
+        repository.insertAll(batch);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-35s %,10.0f rows/s   primary key indexes %,d kB%n",
+                label, ROWS / seconds, primaryKeyIndexesSizeKb());
+    }
+
+    private long primaryKeyIndexesSizeKb() {
+        return jdbcTemplate.queryForObject("SELECT (pg_relation_size('score_records_pkey') " +
+                "+ pg_relation_size('score_event_outbox_pkey')) / 1024", Long.class);
+    }
+}
@@ -0,0 +1,158 @@
+package com.gaming.leaderboard.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gaming.leaderboard.config.HttpClientConfig;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserProfileClientTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private HttpServer server;
+    private CloseableHttpAsyncClient httpClient;
+
+    // What user-profile-service does with each batch request
+    private volatile Handler handler;
+
+    interface Handler {
+        void handle(HttpExchange exchange, JsonNode body) throws Exception;
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/api/v1/users/batch", exchange -> {
+            requests.incrementAndGet();
+            try {
+                handler.handle(exchange, objectMapper.readTree(exchange.getRequestBody()));
+            } catch (Exception e) {
+                exchange.sendResponseHeaders(500, -1);
+            } finally {
+                exchange.close();
+            }
+        });
+        server.start();
+        httpClient = new HttpClientConfig().serviceHttpClient(new SimpleMeterRegistry(), 100, 20,
+                Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofMillis(500), Duration.ofMinutes(5),
+                Duration.ofSeconds(30), 1);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        server.stop(0);
+    }
+
+    @Test
+    void fetchUsernames_ShouldSendChunksConcurrently() {
+        handler = (exchange, body) -> {
+            Thread.sleep(300);
+            List<String> profiles = new ArrayList<>();
+            for (JsonNode email : body.get("emails")) {
+                if (!email.asText().startsWith("ghost")) {
+                    profiles.add(profile(email.asText()));
+                }
+            }
+            respond(exchange, 200, "[" + String.join(",", profiles) + "]");
+        };
+        UserProfileClient client = client(2, 4, Duration.ofSeconds(2));
+
+        long start = System.nanoTime();
+        UserProfileClient.UsernameLookup lookup = client.fetchUsernames(
+                List.of("a@example.com", "b@example.com", "c@example.com", "d@example.com", "ghost@example.com"));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertThat(requests).hasValue(3);
+        // Three 300 ms chunks in parallel, not one after the other
+        assertThat(elapsed).isLessThan(Duration.ofMillis(800));
+        assertThat(lookup.usernames()).containsEntry("a@example.com", "a").containsEntry("d@example.com", "d")
+                .doesNotContainKey("ghost@example.com");
+        assertThat(lookup.failed()).isEmpty();
+    }
+
+    @Test
+    void fetchUsernames_ShouldReturnWhatIsAnsweredByTheDeadline() {
+        handler = (exchange, body) -> {
+            String email = body.get("emails").get(0).asText();
+            if (email.startsWith("slow")) {
+                Thread.sleep(2000);
+            }
+            respond(exchange, 200, "[" + profile(email) + "]");
+        };
+        UserProfileClient client = client(1, 4, Duration.ofMillis(300));
+
+        long start = System.nanoTime();
+        UserProfileClient.UsernameLookup lookup = client.fetchUsernames(List.of("a@example.com", "slow@example.com"));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertThat(elapsed).isLessThan(Duration.ofMillis(1500));
+        assertThat(lookup.usernames()).containsOnlyKeys("a@example.com");
+        assertThat(lookup.failed()).containsExactly("slow@example.com");
+    }
+
+    @Test
+    void fetchUsernames_ShouldFailFastOnceUserProfileServiceKeepsFailing() {
+        handler = (exchange, body) -> respond(exchange, 500, "");
+        UserProfileClient client = client(25, 4, Duration.ofSeconds(2));
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(client.fetchUsernames(List.of("a@example.com")).failed()).containsExactly("a@example.com");
+        }
+        assertThat(client.fetchUsernames(List.of("a@example.com")).failed()).containsExactly("a@example.com");
+
+        // The fifth lookup never reached user-profile-service
+        assertThat(requests).hasValue(4);
+    }
+
+    @Test
+    void fetchUsernames_ShouldNotCountClientErrorsAsFailures() {
+        handler = (exchange, body) -> respond(exchange, 400, "");
+        UserProfileClient client = client(25, 4, Duration.ofSeconds(2));
+        for (int i = 0; i < 4; i++) {
+            client.fetchUsernames(List.of("a@example.com"));
+        }
+
+        handler = (exchange, body) -> respond(exchange, 200, "[" + profile("a@example.com") + "]");
+        assertThat(client.fetchUsernames(List.of("a@example.com")).usernames()).containsEntry("a@example.com", "a");
+        assertThat(requests).hasValue(5);
+    }
+
+    private UserProfileClient client(int chunkSize, int maxConcurrency, Duration deadline) {
+        return new UserProfileClient(httpClient, objectMapper, new SimpleMeterRegistry(),
+                "http://127.0.0.1:" + server.getAddress().getPort(), chunkSize, maxConcurrency, deadline,
+                50, Duration.ofSeconds(5), 80, 4, 4, Duration.ofMinutes(1));
+    }
+
+    private static String profile(String email) {
+        return "{\"email\":\"" + email + "\",\"username\":\"" + email.substring(0, email.indexOf('@')) + "\"}";
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            exchange.getResponseBody().write(bytes);
+        }
+    }
+}
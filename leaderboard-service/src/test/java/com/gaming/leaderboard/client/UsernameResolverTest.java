@@ -0,0 +1,78 @@
+package com.gaming.leaderboard.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UsernameResolverTest {
+
+    @Mock
+    private UserProfileClient userProfileClient;
+
+    private UsernameResolver usernameResolver;
+
+    @BeforeEach
+    void setUp() {
+        usernameResolver = new UsernameResolver(userProfileClient, new SimpleMeterRegistry(),
+                100, Duration.ofMinutes(10), Duration.ofSeconds(30));
+    }
+
+    @Test
+    void resolve_ShouldServeRepeatedLookupsFromCache() {
+        when(userProfileClient.fetchUsernames(anyCollection()))
+                .thenReturn(new UserProfileClient.UsernameLookup(Map.of("a@example.com", "alice"), Set.of()));
+
+        usernameResolver.resolve(List.of("a@example.com", "ghost@example.com"));
+        Map<String, String> result = usernameResolver.resolve(List.of("a@example.com", "ghost@example.com"));
+
+        assertThat(result).containsEntry("a@example.com", "alice")
+                .containsEntry("ghost@example.com", UsernameResolver.UNKNOWN_USERNAME);
+        // Both the hit and the negative entry are cached: only the first call reaches user-profile-service
+        verify(userProfileClient, times(1)).fetchUsernames(anyCollection());
+    }
+
+    @Test
+    void resolve_ShouldNotCacheFailures() {
+        when(userProfileClient.fetchUsernames(anyCollection()))
+                .thenThrow(new ResourceAccessException("connection refused"))
+                .thenReturn(new UserProfileClient.UsernameLookup(Map.of("a@example.com", "alice"), Set.of()));
+
+        Map<String, String> first = usernameResolver.resolve(Set.of("a@example.com"));
+        Map<String, String> second = usernameResolver.resolve(Set.of("a@example.com"));
+
+        assertThat(first).containsEntry("a@example.com", UsernameResolver.UNKNOWN_USERNAME);
+        assertThat(second).containsEntry("a@example.com", "alice");
+        verify(userProfileClient, times(2)).fetchUsernames(anyCollection());
+    }
+
+    @Test
+    void resolve_ShouldNotCacheLookupsThatMissedTheDeadline() {
+        when(userProfileClient.fetchUsernames(anyCollection()))
+                .thenReturn(new UserProfileClient.UsernameLookup(Map.of("a@example.com", "alice"), Set.of("b@example.com")))
+                .thenReturn(new UserProfileClient.UsernameLookup(Map.of("b@example.com", "bob"), Set.of()));
+
+        Map<String, String> first = usernameResolver.resolve(List.of("a@example.com", "b@example.com"));
+        Map<String, String> second = usernameResolver.resolve(List.of("a@example.com", "b@example.com"));
+
+        assertThat(first).containsEntry("a@example.com", "alice")
+                .containsEntry("b@example.com", UsernameResolver.UNKNOWN_USERNAME);
+        assertThat(second).containsEntry("a@example.com", "alice").containsEntry("b@example.com", "bob");
+        verify(userProfileClient).fetchUsernames(Set.of("b@example.com"));
+    }
+}
@@ -0,0 +1,106 @@
+package com.gaming.leaderboard.kafka;
+
+import com.gaming.leaderboard.repository.ScoreEventOutboxRepository;
+import com.gaming.leaderboard.repository.ScoreEventOutboxRepository.OutboxEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ScoreEventOutboxRelayTest {
+
+    @Mock
+    private ScoreEventOutboxRepository scoreEventOutboxRepository;
+
+    @Mock
+    private ScoreEventPublisher scoreEventPublisher;
+
+    private ScoreEventOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new ScoreEventOutboxRelay(scoreEventOutboxRepository, scoreEventPublisher,
+                true, 2, 10, Duration.ofMillis(200), Duration.ofMillis(100));
+    }
+
+    @Test
+    void relayBatch_ShouldDeleteOnlyAcknowledgedEvents() {
+        OutboxEvent acknowledged = outboxEvent("a@example.com");
+        OutboxEvent failed = outboxEvent("b@example.com");
+        when(scoreEventOutboxRepository.claim(2, Duration.ofMillis(200))).thenReturn(List.of(acknowledged, failed));
+        doReturn(CompletableFuture.completedFuture(null)).when(scoreEventPublisher).publish(acknowledged.event());
+        doReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")))
+                .when(scoreEventPublisher).publish(failed.event());
+
+        assertThat(relay.relayBatch()).isEqualTo(2);
+
+        verify(scoreEventOutboxRepository).deleteAll(List.of(acknowledged.id()));
+    }
+
+    @Test
+    void relayBatch_ShouldKeepEvents_WhenAcknowledgementTimesOut() {
+        OutboxEvent pending = outboxEvent("a@example.com");
+        when(scoreEventOutboxRepository.claim(2, Duration.ofMillis(200))).thenReturn(List.of(pending));
+        doReturn(new CompletableFuture<>()).when(scoreEventPublisher).publish(pending.event());
+
+        relay.relayBatch();
+
+        verify(scoreEventOutboxRepository).deleteAll(List.of());
+    }
+
+    @Test
+    void relay_ShouldDrainFullBatchesUntilTheOutboxIsEmpty() {
+        OutboxEvent first = outboxEvent("a@example.com");
+        OutboxEvent second = outboxEvent("b@example.com");
+        OutboxEvent third = outboxEvent("c@example.com");
+        when(scoreEventOutboxRepository.claim(anyInt(), any()))
+                .thenReturn(List.of(first, second))
+                .thenReturn(List.of(third));
+        doReturn(CompletableFuture.completedFuture(null)).when(scoreEventPublisher).publish(any());
+
+        relay.relay();
+
+        verify(scoreEventOutboxRepository, times(2)).claim(anyInt(), any());
+        verify(scoreEventOutboxRepository).deleteAll(List.of(third.id()));
+    }
+
+    @Test
+    void relay_ShouldDoNothing_WhenDisabled() {
+        new ScoreEventOutboxRelay(scoreEventOutboxRepository, scoreEventPublisher, false, 2, 10, Duration.ofSeconds(1), Duration.ofMillis(500))
+                .relay();
+
+        verify(scoreEventOutboxRepository, never()).claim(anyInt(), any());
+    }
+
+    @Test
+    void constructor_ShouldRejectAnAckTimeoutNotShorterThanTheLease() {
+        assertThatThrownBy(() -> new ScoreEventOutboxRelay(scoreEventOutboxRepository, scoreEventPublisher,
+                true, 2, 10, Duration.ofSeconds(1), Duration.ofSeconds(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private OutboxEvent outboxEvent(String userId) {
+        return new OutboxEvent(UUID.randomUUID(), ScoreRecordedEvent.builder()
+                .userId(userId)
+                .gameId("game-1")
+                .score(100.0)
+                .build());
+    }
+}
@@ -0,0 +1,76 @@
+package com.gaming.leaderboard.kafka;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ScoreEventPublisherTest {
+
+    @Mock
+    private KafkaTemplate<String, ScoreRecordedEvent> kafkaTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ScoreRecordedEvent event = ScoreRecordedEvent.builder()
+            .userId("a@example.com")
+            .gameId("game-1")
+            .score(100.0)
+            .timestamp(LocalDateTime.now())
+            .build();
+
+    @Test
+    void publish_ShouldKeyByConfiguredField() {
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(new CompletableFuture<>());
+
+        new ScoreEventPublisher(kafkaTemplate, meterRegistry, ScoreEventPublisher.PartitionKey.USER_ID).publish(event);
+        new ScoreEventPublisher(kafkaTemplate, meterRegistry, ScoreEventPublisher.PartitionKey.GAME_ID).publish(event);
+
+        verify(kafkaTemplate).send(ScoreEventPublisher.TOPIC_SCORE_RECORDED, "a@example.com", event);
+        verify(kafkaTemplate).send(ScoreEventPublisher.TOPIC_SCORE_RECORDED, "game-1", event);
+    }
+
+    @Test
+    void publish_ShouldRecordLatency_WhenAcknowledged() {
+        CompletableFuture<SendResult<String, ScoreRecordedEvent>> future = new CompletableFuture<>();
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(future);
+        ScoreEventPublisher publisher = new ScoreEventPublisher(kafkaTemplate, meterRegistry, ScoreEventPublisher.PartitionKey.USER_ID);
+
+        publisher.publish(event);
+        future.complete(null);
+
+        assertThat(meterRegistry.get("leaderboard.events.send").tag("outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("leaderboard.events.dropped").counter().count()).isZero();
+    }
+
+    @Test
+    void publish_ShouldCountDroppedEvents() {
+        CompletableFuture<SendResult<String, ScoreRecordedEvent>> future = new CompletableFuture<>();
+        when(kafkaTemplate.send(anyString(), eq("a@example.com"), any()))
+                .thenReturn(future)
+                .thenThrow(new TimeoutException("Topic score-recorded not present in metadata"));
+        ScoreEventPublisher publisher = new ScoreEventPublisher(kafkaTemplate, meterRegistry, ScoreEventPublisher.PartitionKey.USER_ID);
+
+        publisher.publish(event);
+        future.completeExceptionally(new TimeoutException("Expiring 1 record(s)"));
+        assertThat(publisher.publish(event)).isCompletedExceptionally();
+
+        assertThat(meterRegistry.get("leaderboard.events.dropped").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("leaderboard.events.send").tag("outcome", "failure").timer().count()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,164 @@
+package com.gaming.leaderboard.kafka;
+
+import com.gaming.leaderboard.repository.LeaderboardRedisRepository;
+import com.gaming.leaderboard.repository.LeaderboardRedisRepository.ScoreUpdate;
+import com.gaming.leaderboard.service.TopScoresCache;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+@SpringBootTest(
+        classes = {ScoreRankingConsumer.class, KafkaAutoConfiguration.class},
+        properties = {
+                "leaderboard.ranking.mode=consumer",
+                "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+                "spring.kafka.consumer.key-deserializer=org.apache.kafka.common.serialization.StringDeserializer",
+                "spring.kafka.consumer.value-deserializer=org.springframework.kafka.support.serializer.ErrorHandlingDeserializer",
+                "spring.kafka.consumer.properties.spring.deserializer.value.delegate.class=com.gaming.leaderboard.kafka.ScoreRecordedEventDeserializer",
+                "spring.kafka.consumer.auto-offset-reset=earliest"
+        })
+@EmbeddedKafka(partitions = 2, topics = ScoreEventPublisher.TOPIC_SCORE_RECORDED)
+class ScoreRankingConsumerTest {
+
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafka;
+
+    @MockBean
+    private LeaderboardRedisRepository leaderboardRedisRepository;
+
+    @MockBean
+    private TopScoresCache topScoresCache;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldApplyJsonAndBinaryEventsAndSkipUnreadableOnes() throws Exception {
+        LocalDateTime playedAt = LocalDateTime.of(2026, 10, 17, 12, 30);
+        ScoreRecordedEventSerializer json = serializer("json");
+        ScoreRecordedEventSerializer binary = serializer("binary");
+
+        Map<String, Object> props = KafkaTestUtils.producerProps(embeddedKafka);
+        try (KafkaProducer<String, byte[]> producer =
+                     new KafkaProducer<>(props, new StringSerializer(), new ByteArraySerializer())) {
+            send(producer, json, event("a@example.com", 100.0, playedAt));
+            producer.send(new ProducerRecord<>(ScoreEventPublisher.TOPIC_SCORE_RECORDED, "bad",
+                    "not an event".getBytes(StandardCharsets.UTF_8))).get();
+            send(producer, binary, event("b@example.com", 250.0, playedAt));
+        }
+
+        ArgumentCaptor<Collection<ScoreUpdate>> captor = ArgumentCaptor.forClass(Collection.class);
+        List<ScoreUpdate> applied = new ArrayList<>();
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (applied.size() < 2 && System.currentTimeMillis() < deadline) {
+            verify(leaderboardRedisRepository, timeout(30_000).atLeastOnce()).keepBest(captor.capture());
+            applied.clear();
+            captor.getAllValues().forEach(applied::addAll);
+        }
+
+        assertThat(applied).containsExactlyInAnyOrder(
+                new ScoreUpdate("game-1", "a@example.com", 100.0, playedAt.atZone(ZoneId.systemDefault()).toInstant()),
+                new ScoreUpdate("game-1", "b@example.com", 250.0, playedAt.atZone(ZoneId.systemDefault()).toInstant()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldSkipEventsWithoutGameUserOrScore() {
+        // Called directly, away from the records the embedded broker delivers to the Spring bean
+        LeaderboardRedisRepository repository = mock(LeaderboardRedisRepository.class);
+        ScoreRankingConsumer consumer = new ScoreRankingConsumer(repository, mock(TopScoresCache.class));
+        LocalDateTime playedAt = LocalDateTime.of(2026, 10, 17, 12, 30);
+        ScoreRecordedEvent noGame = event("a@example.com", 100.0, playedAt);
+        noGame.setGameId(null);
+        ScoreRecordedEvent noScore = event("b@example.com", 100.0, playedAt);
+        noScore.setScore(null);
+
+        consumer.onScoresRecorded(List.of(
+                record(0, noGame),
+                record(1, event(null, 100.0, playedAt)),
+                record(2, noScore),
+                record(3, event("c@example.com", Double.NaN, playedAt)),
+                record(4, event("d@example.com", 300.0, playedAt))));
+
+        ArgumentCaptor<Collection<ScoreUpdate>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(repository).keepBest(captor.capture());
+        assertThat(captor.getValue()).containsExactly(
+                new ScoreUpdate("game-1", "d@example.com", 300.0, playedAt.atZone(ZoneId.systemDefault()).toInstant()));
+
+        consumer.onScoresRecorded(List.of(record(5, noGame)));
+        // Nothing left to apply: no empty batch is sent to Redis
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void shouldInvalidateCachedPagesAfterApplyingTheScores() {
+        LeaderboardRedisRepository repository = mock(LeaderboardRedisRepository.class);
+        TopScoresCache cache = mock(TopScoresCache.class);
+        ScoreRankingConsumer consumer = new ScoreRankingConsumer(repository, cache);
+        LocalDateTime playedAt = LocalDateTime.of(2026, 10, 17, 12, 30);
+
+        consumer.onScoresRecorded(List.of(
+                record(0, event("a@example.com", 100.0, playedAt)),
+                record(1, event(null, 50.0, playedAt)),
+                record(2, event("b@example.com", 250.0, playedAt))));
+
+        InOrder inOrder = inOrder(repository, cache);
+        inOrder.verify(repository).keepBest(anyCollection());
+        inOrder.verify(cache).scoreRecorded("game-1", "a@example.com", 100.0);
+        inOrder.verify(cache).scoreRecorded("game-1", "b@example.com", 250.0);
+        verifyNoMoreInteractions(cache);
+    }
+
+    private static ConsumerRecord<String, ScoreRecordedEvent> record(long offset, ScoreRecordedEvent event) {
+        return new ConsumerRecord<>(ScoreEventPublisher.TOPIC_SCORE_RECORDED, 0, offset, event.getUserId(), event);
+    }
+
+    private static void send(KafkaProducer<String, byte[]> producer, ScoreRecordedEventSerializer serializer,
+                             ScoreRecordedEvent event) throws Exception {
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(ScoreEventPublisher.TOPIC_SCORE_RECORDED, event.getUserId(), null);
+        byte[] value = serializer.serialize(record.topic(), record.headers(), event);
+        producer.send(new ProducerRecord<>(record.topic(), null, record.key(), value, record.headers())).get();
+    }
+
+    private static ScoreRecordedEventSerializer serializer(String format) {
+        ScoreRecordedEventSerializer serializer = new ScoreRecordedEventSerializer();
+        serializer.configure(Map.of(ScoreRecordedEventSerializer.FORMAT_CONFIG, format), false);
+        return serializer;
+    }
+
+    private static ScoreRecordedEvent event(String userId, double score, LocalDateTime timestamp) {
+        return ScoreRecordedEvent.builder()
+                .userId(userId)
+                .gameId("game-1")
+                .score(score)
+                .timestamp(timestamp)
+                .build();
+    }
+}
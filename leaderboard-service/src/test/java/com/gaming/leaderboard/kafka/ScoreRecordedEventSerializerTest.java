@@ -0,0 +1,64 @@
+package com.gaming.leaderboard.kafka;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScoreRecordedEventSerializerTest {
+
+    private static final String TOPIC = ScoreEventPublisher.TOPIC_SCORE_RECORDED;
+
+    private final ScoreRecordedEvent event = ScoreRecordedEvent.builder()
+            .userId("a@example.com")
+            .gameId("space-invaders")
+            .score(1234.5)
+            .timestamp(LocalDateTime.of(2026, 10, 17, 12, 30, 5, 123_000_000))
+            .build();
+
+    private final ScoreRecordedEventDeserializer deserializer = new ScoreRecordedEventDeserializer();
+
+    @Test
+    void binary_ShouldRoundTripAndMarkFormat() {
+        RecordHeaders headers = new RecordHeaders();
+
+        byte[] data = serializer("binary").serialize(TOPIC, headers, event);
+
+        assertThat(new String(headers.lastHeader(ScoreRecordedEventCodec.FORMAT_HEADER).value(), StandardCharsets.UTF_8))
+                .isEqualTo(ScoreRecordedEventCodec.BINARY_V1);
+        assertThat(data).hasSize(2 + 13 + 2 + 14 + 8 + 8);
+        assertThat(deserializer.deserialize(TOPIC, headers, data)).isEqualTo(event);
+    }
+
+    @Test
+    void json_ShouldStayTheDefault() {
+        RecordHeaders headers = new RecordHeaders();
+
+        byte[] data = serializer(null).serialize(TOPIC, headers, event);
+
+        assertThat(headers.lastHeader(ScoreRecordedEventCodec.FORMAT_HEADER)).isNull();
+        assertThat(new String(data, StandardCharsets.UTF_8)).contains("\"userId\":\"a@example.com\"");
+        assertThat(deserializer.deserialize(TOPIC, headers, data)).isEqualTo(event);
+    }
+
+    @Test
+    void deserialize_ShouldRejectUnknownVersions() {
+        RecordHeaders headers = new RecordHeaders();
+        headers.add(ScoreRecordedEventCodec.FORMAT_HEADER, "binary-v9".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> deserializer.deserialize(TOPIC, headers, new byte[]{0}))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    private ScoreRecordedEventSerializer serializer(String format) {
+        ScoreRecordedEventSerializer serializer = new ScoreRecordedEventSerializer();
+        serializer.configure(format == null ? Map.of() : Map.of(ScoreRecordedEventSerializer.FORMAT_CONFIG, format), false);
+        return serializer;
+    }
+}
@@ -0,0 +1,77 @@
+package com.gaming.leaderboard.live;
+
+import com.gaming.leaderboard.dto.LeaderboardDiffDTO;
+import com.gaming.leaderboard.dto.LeaderboardEntryDTO;
+import com.gaming.leaderboard.service.LeaderboardService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LiveLeaderboardHubTest {
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    private LiveLeaderboardHub hub;
+
+    @BeforeEach
+    void setUp() {
+        hub = new LiveLeaderboardHub(leaderboardService, 10, Duration.ofMinutes(30), Duration.ofHours(1));
+    }
+
+    @Test
+    void tick_ShouldReadEachChangedGameOnceForAllClients() {
+        when(leaderboardService.getTopScores("game-1", 10)).thenReturn(List.of(entry(1, "a", 100.0)));
+
+        hub.subscribe("game-1");
+        hub.subscribe("game-1");
+        hub.markChanged("game-1");
+        hub.markChanged("game-1");
+        hub.markChanged("game-2");
+        hub.tick();
+        hub.tick();
+
+        assertThat(hub.clientCount("game-1")).isEqualTo(2);
+        // One read for the first snapshot, one for the tick, none for the second (idle) tick
+        verify(leaderboardService, times(2)).getTopScores("game-1", 10);
+        verify(leaderboardService, never()).getTopScores("game-2", 10);
+    }
+
+    @Test
+    void tick_ShouldIgnoreChangesWithoutClients() {
+        hub.markChanged("game-1");
+        hub.tick();
+
+        verify(leaderboardService, never()).getTopScores(anyString(), anyInt());
+    }
+
+    @Test
+    void diff_ShouldListChangedAndRemovedEntries() {
+        List<LeaderboardEntryDTO> previous = List.of(entry(1, "a", 300.0), entry(2, "b", 200.0), entry(3, "c", 100.0));
+        List<LeaderboardEntryDTO> current = List.of(entry(1, "a", 300.0), entry(2, "d", 250.0), entry(3, "b", 200.0));
+
+        LeaderboardDiffDTO diff = LiveLeaderboardHub.diff("game-1", previous, current);
+
+        assertThat(diff.getUpdated()).containsExactly(entry(2, "d", 250.0), entry(3, "b", 200.0));
+        assertThat(diff.getRemoved()).containsExactly("c");
+        assertThat(LiveLeaderboardHub.diff("game-1", current, current).isEmpty()).isTrue();
+    }
+
+    private static LeaderboardEntryDTO entry(long rank, String userId, double score) {
+        return LeaderboardEntryDTO.builder().rank(rank).userId(userId).username(userId).score(score).build();
+    }
+}
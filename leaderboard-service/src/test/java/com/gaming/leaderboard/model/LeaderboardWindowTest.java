@@ -0,0 +1,48 @@
+package com.gaming.leaderboard.model;
+
+import com.gaming.leaderboard.exception.InvalidLeaderboardWindowException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LeaderboardWindowTest {
+
+    private static final LocalDate SATURDAY = LocalDate.of(2026, 10, 17);
+
+    @Test
+    void keySuffix_ShouldIdentifyThePeriod() {
+        assertThat(LeaderboardWindow.ALL_TIME.keySuffix(SATURDAY)).isEmpty();
+        assertThat(LeaderboardWindow.DAILY.keySuffix(SATURDAY)).isEqualTo(":d:2026-10-17");
+        assertThat(LeaderboardWindow.WEEKLY.keySuffix(SATURDAY)).isEqualTo(":w:2026-W42");
+        assertThat(LeaderboardWindow.MONTHLY.keySuffix(SATURDAY)).isEqualTo(":m:2026-10");
+    }
+
+    @Test
+    void keySuffix_ShouldUseIsoWeekBasedYear() {
+        // 1 January 2027 is a Friday, still in the last ISO week of 2026
+        assertThat(LeaderboardWindow.WEEKLY.keySuffix(LocalDate.of(2027, 1, 1))).isEqualTo(":w:2026-W53");
+    }
+
+    @Test
+    void expiresAt_ShouldBeShortlyAfterThePeriodEnds() {
+        assertThat(LeaderboardWindow.ALL_TIME.expiresAt(SATURDAY, ZoneOffset.UTC)).isNull();
+        assertThat(LeaderboardWindow.DAILY.expiresAt(SATURDAY, ZoneOffset.UTC))
+                .isEqualTo(Instant.parse("2026-10-18T01:00:00Z"));
+        assertThat(LeaderboardWindow.WEEKLY.expiresAt(SATURDAY, ZoneOffset.UTC))
+                .isEqualTo(Instant.parse("2026-10-19T01:00:00Z"));
+        assertThat(LeaderboardWindow.MONTHLY.expiresAt(SATURDAY, ZoneOffset.UTC))
+                .isEqualTo(Instant.parse("2026-11-01T01:00:00Z"));
+    }
+
+    @Test
+    void fromParam_ShouldRejectUnknownWindows() {
+        assertThat(LeaderboardWindow.fromParam("Weekly")).isEqualTo(LeaderboardWindow.WEEKLY);
+        assertThatThrownBy(() -> LeaderboardWindow.fromParam("yearly"))
+                .isInstanceOf(InvalidLeaderboardWindowException.class);
+    }
+}
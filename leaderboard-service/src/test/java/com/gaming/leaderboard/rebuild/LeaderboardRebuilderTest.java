@@ -0,0 +1,97 @@
+package com.gaming.leaderboard.rebuild;
+
+import com.gaming.leaderboard.repository.LeaderboardRedisRepository;
+import com.gaming.leaderboard.repository.ScoreRecordJdbcRepository;
+import com.gaming.leaderboard.repository.ScoreRecordJdbcRepository.BestScore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LeaderboardRebuilderTest {
+
+    @Mock
+    private ScoreRecordJdbcRepository scoreRecordJdbcRepository;
+
+    @Mock
+    private LeaderboardRedisRepository leaderboardRedisRepository;
+
+    private LeaderboardRebuilder leaderboardRebuilder;
+
+    @BeforeEach
+    void setUp() {
+        leaderboardRebuilder = new LeaderboardRebuilder(scoreRecordJdbcRepository, leaderboardRedisRepository,
+                true, 100, 2);
+    }
+
+    @Test
+    void rebuild_ShouldWriteChunksAndSwapEachGame() {
+        stream(new BestScore("game-1", "a", 300.0), new BestScore("game-1", "b", 200.0),
+                new BestScore("game-1", "c", 100.0), new BestScore("game-2", "a", 50.0));
+        when(leaderboardRedisRepository.newRebuildKey("game-1")).thenReturn("tmp-1");
+        when(leaderboardRedisRepository.newRebuildKey("game-2")).thenReturn("tmp-2");
+        when(leaderboardRedisRepository.replaceLeaderboard("game-1", "tmp-1")).thenReturn(3L);
+        when(leaderboardRedisRepository.replaceLeaderboard("game-2", "tmp-2")).thenReturn(1L);
+
+        Map<String, Long> sizes = leaderboardRebuilder.rebuild(null);
+
+        assertThat(sizes).containsExactly(Map.entry("game-1", 3L), Map.entry("game-2", 1L));
+        InOrder inOrder = inOrder(leaderboardRedisRepository);
+        inOrder.verify(leaderboardRedisRepository).addToRebuild("tmp-1", Map.of("a", 300.0, "b", 200.0));
+        inOrder.verify(leaderboardRedisRepository).addToRebuild("tmp-1", Map.of("c", 100.0));
+        inOrder.verify(leaderboardRedisRepository).replaceLeaderboard("game-1", "tmp-1");
+        inOrder.verify(leaderboardRedisRepository).addToRebuild("tmp-2", Map.of("a", 50.0));
+        inOrder.verify(leaderboardRedisRepository).replaceLeaderboard("game-2", "tmp-2");
+    }
+
+    @Test
+    void rebuildMissing_ShouldOnlyRebuildGamesWithoutLeaderboard() {
+        when(scoreRecordJdbcRepository.findGameIds()).thenReturn(List.of("game-1", "game-2"));
+        when(leaderboardRedisRepository.findMissingLeaderboards(List.of("game-1", "game-2")))
+                .thenReturn(List.of("game-2"));
+
+        leaderboardRebuilder.rebuildMissing();
+
+        verify(scoreRecordJdbcRepository).streamBestScores(eq(List.of("game-2")), anyInt(), any());
+    }
+
+    @Test
+    void rebuildMissing_ShouldDoNothing_WhenAllLeaderboardsExist() {
+        when(scoreRecordJdbcRepository.findGameIds()).thenReturn(List.of("game-1"));
+        when(leaderboardRedisRepository.findMissingLeaderboards(List.of("game-1"))).thenReturn(List.of());
+
+        leaderboardRebuilder.rebuildMissing();
+
+        verify(scoreRecordJdbcRepository, never()).streamBestScores(any(), anyInt(), any());
+        verify(leaderboardRedisRepository, never()).addToRebuild(any(), anyMap());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stream(BestScore... bestScores) {
+        doAnswer(invocation -> {
+            Consumer<BestScore> consumer = invocation.getArgument(2);
+            for (BestScore bestScore : bestScores) {
+                consumer.accept(bestScore);
+            }
+            return null;
+        }).when(scoreRecordJdbcRepository).streamBestScores(any(), anyInt(), any());
+    }
+}
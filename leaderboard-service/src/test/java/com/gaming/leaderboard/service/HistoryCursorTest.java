@@ -0,0 +1,38 @@
+package com.gaming.leaderboard.service;
+
+import com.gaming.leaderboard.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HistoryCursorTest {
+
+    @Test
+    void decode_ShouldReturnEncodedKey() {
+        HistoryCursor cursor = new HistoryCursor(LocalDateTime.of(2026, 10, 17, 12, 30, 5, 123456000), UUID.randomUUID());
+
+        assertThat(HistoryCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void decode_ShouldStartFromNewest_WhenNoCursor() {
+        assertThat(HistoryCursor.decode(null)).isNull();
+    }
+
+    @Test
+    void decode_ShouldRejectTamperedCursors() {
+        String badDate = Base64.getUrlEncoder().encodeToString(
+                ("k:yesterday|" + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> HistoryCursor.decode("not-a-cursor"))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> HistoryCursor.decode(badDate))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+}
@@ -0,0 +1,33 @@
+package com.gaming.leaderboard.service;
+
+import com.gaming.leaderboard.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LeaderboardCursorTest {
+
+    @Test
+    void decode_ShouldReturnEncodedOffset() {
+        assertThat(LeaderboardCursor.decode(LeaderboardCursor.encode(250))).isEqualTo(250);
+    }
+
+    @Test
+    void decode_ShouldStartFromTop_WhenNoCursor() {
+        assertThat(LeaderboardCursor.decode(null)).isZero();
+    }
+
+    @Test
+    void decode_ShouldRejectTamperedCursors() {
+        String negative = Base64.getUrlEncoder().encodeToString("o:-5".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> LeaderboardCursor.decode("not-a-cursor"))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> LeaderboardCursor.decode(negative))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+}
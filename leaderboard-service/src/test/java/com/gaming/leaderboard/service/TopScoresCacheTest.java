@@ -0,0 +1,110 @@
+package com.gaming.leaderboard.service;
+
+import com.gaming.leaderboard.dto.LeaderboardEntryDTO;
+import com.gaming.leaderboard.dto.LeaderboardPageDTO;
+import com.gaming.leaderboard.model.LeaderboardWindow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TopScoresCacheTest {
+
+    private final TopScoresCache cache = new TopScoresCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+
+    private final TopScoresCache.Key top2 = new TopScoresCache.Key("game-1", LeaderboardWindow.ALL_TIME, 2);
+
+    @Test
+    void get_ShouldShareOneLoadBetweenConcurrentMisses() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<LeaderboardPageDTO>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(CompletableFuture.supplyAsync(() -> cache.get(top2, key -> {
+                    loads.incrementAndGet();
+                    await(loading);
+                    return page(entry(1, "a", 300.0));
+                }), executor));
+            }
+            Thread.sleep(100);
+            loading.countDown();
+
+            for (CompletableFuture<LeaderboardPageDTO> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS).getEntries()).hasSize(1);
+            }
+            assertThat(loads).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void scoreRecorded_ShouldDropOnlyPagesTheScoreCouldChange() {
+        cache.get(top2, key -> page(entry(1, "a", 300.0), entry(2, "b", 200.0)));
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.scoreRecorded("game-1", "c", 150.0);
+        cache.scoreRecorded("game-1", "a", 250.0);
+        cache.scoreRecorded("game-2", "c", 1000.0);
+        cache.get(top2, key -> {
+            loads.incrementAndGet();
+            return page();
+        });
+        assertThat(loads).hasValue(0);
+
+        cache.scoreRecorded("game-1", "c", 200.0);
+        cache.get(top2, key -> {
+            loads.incrementAndGet();
+            return page();
+        });
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void replace_ShouldNotOverwriteAPageReloadedInTheMeantime() {
+        LeaderboardPageDTO loaded = cache.get(top2, key -> page(entry(1, "a", 300.0)));
+        cache.scoreRecorded("game-1", "b", 400.0);
+        LeaderboardPageDTO reloaded = cache.get(top2, key -> page(entry(1, "b", 400.0), entry(2, "a", 300.0)));
+
+        cache.replace(top2, loaded, page(entry(1, "a-named", 300.0)));
+
+        assertThat(cache.get(top2, key -> page())).isSameAs(reloaded);
+    }
+
+    @Test
+    void couldChange_ShouldAdmitAnyScoreWhileThePageIsNotFull() {
+        List<LeaderboardEntryDTO> entries = List.of(entry(1, "a", 300.0));
+
+        assertThat(TopScoresCache.couldChange(entries, 2, "b", 1.0)).isTrue();
+        assertThat(TopScoresCache.couldChange(entries, 2, "a", 300.0)).isFalse();
+        assertThat(TopScoresCache.couldChange(entries, 2, "a", 301.0)).isTrue();
+    }
+
+    private static LeaderboardPageDTO page(LeaderboardEntryDTO... entries) {
+        return LeaderboardPageDTO.builder().entries(List.of(entries)).build();
+    }
+
+    private static LeaderboardEntryDTO entry(long rank, String userId, double score) {
+        return LeaderboardEntryDTO.builder().rank(rank).userId(userId).username(userId).score(score).build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.gaming.leaderboard.writebehind;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.gaming.leaderboard.model.ScoreRecord;
+import com.gaming.leaderboard.repository.ScoreRecordJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class ScoreWriteBehindBufferTest {
+
+    @Mock
+    private ScoreRecordJdbcRepository scoreRecordJdbcRepository;
+
+    @TempDir
+    Path walDirectory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void flush_ShouldInsertInBatchesAndDeleteFlushedSegments() throws Exception {
+        ScoreWriteBehindBuffer buffer = newBuffer(2, 100);
+        buffer.start();
+
+        assertThat(buffer.offer(record(10.0))).isTrue();
+        assertThat(buffer.offer(record(20.0))).isTrue();
+        assertThat(buffer.offer(record(30.0))).isTrue();
+        buffer.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ScoreRecord>> batches = ArgumentCaptor.forClass(List.class);
+        verify(scoreRecordJdbcRepository, times(2)).insertAll(batches.capture());
+        assertThat(batches.getAllValues()).extracting(List::size).containsExactly(2, 1);
+        // Only the fresh, empty segment is left
+        assertThat(Files.list(walDirectory)).hasSize(1);
+        buffer.stop();
+    }
+
+    @Test
+    void offer_ShouldRejectWhenMaxPendingReached() throws Exception {
+        ScoreWriteBehindBuffer buffer = newBuffer(10, 1);
+        buffer.start();
+
+        assertThat(buffer.offer(record(10.0))).isTrue();
+        assertThat(buffer.offer(record(20.0))).isFalse();
+        buffer.stop();
+    }
+
+    @Test
+    void start_ShouldRecoverRecordsNotFlushedBeforeRestart() throws Exception {
+        doThrow(new DataAccessResourceFailureException("database down"))
+                .when(scoreRecordJdbcRepository).insertAll(anyList());
+        ScoreWriteBehindBuffer crashed = newBuffer(10, 100);
+        crashed.start();
+        crashed.offer(record(10.0));
+        crashed.offer(record(20.0));
+        crashed.flush();
+
+        doNothing().when(scoreRecordJdbcRepository).insertAll(anyList());
+        ScoreWriteBehindBuffer restarted = newBuffer(10, 100);
+        restarted.start();
+        restarted.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ScoreRecord>> batches = ArgumentCaptor.forClass(List.class);
+        verify(scoreRecordJdbcRepository, times(2)).insertAll(batches.capture());
+        assertThat(batches.getValue()).extracting(ScoreRecord::getScore).containsExactlyInAnyOrder(10.0, 20.0);
+    }
+
+    @Test
+    void offer_ShouldReturnFalse_WhenDisabled() throws Exception {
+        ScoreWriteBehindBuffer buffer = new ScoreWriteBehindBuffer(scoreRecordJdbcRepository, objectMapper,
+                new SimpleMeterRegistry(), false, 10, 100, walDirectory, false);
+        buffer.start();
+
+        assertThat(buffer.offer(record(10.0))).isFalse();
+        buffer.flush();
+        verifyNoInteractions(scoreRecordJdbcRepository);
+    }
+
+    private ScoreWriteBehindBuffer newBuffer(int flushSize, int maxPending) {
+        return new ScoreWriteBehindBuffer(scoreRecordJdbcRepository, objectMapper, new SimpleMeterRegistry(),
+                true, flushSize, maxPending, walDirectory, false);
+    }
+
+    private ScoreRecord record(double score) {
+        return ScoreRecord.builder()
+                .id(UUID.randomUUID())
+                .userId("user@example.com")
+                .gameId("game-1")
+                .score(score)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -1,16 +1,22 @@
 package com.gaming.user.controller;
 
+import com.gaming.user.dto.UserBatchRequestDTO;
 import com.gaming.user.dto.UserDTO;
 import com.gaming.user.service.UserService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 /**
  * REST Controller for user profile operations.
  * All endpoints require JWT authentication.
@@ -52,6 +58,21 @@ public class UserController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Get many user profiles at once by ID and/or email.
+     * Intended for service-to-service calls that would otherwise issue one request per user.
+     *
+     * @param request the IDs and emails to resolve
+     * @return ResponseEntity with the list of matching users (unknown entries are omitted)
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<UserDTO>> getUsersBatch(@Valid @RequestBody UserBatchRequestDTO request) {
+        log.info("POST /api/v1/users/batch - Request {} ids, {} emails",
+                request.getIds() == null ? 0 : request.getIds().size(),
+                request.getEmails() == null ? 0 : request.getEmails().size());
+        return ResponseEntity.ok(userService.getUsersByIdsOrEmails(request.getIds(), request.getEmails()));
+    }
+
     /**
      * Get the current authenticated user's profile.
      * If the user doesn't exist in the database, it will be created automatically.
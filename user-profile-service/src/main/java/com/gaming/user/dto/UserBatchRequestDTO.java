@@ -0,0 +1,35 @@
+package com.gaming.user.dto;
+
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Request body for bulk user lookups.
+ * Used by other services (e.g. leaderboard-service) to resolve many users with a single call.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBatchRequestDTO {
+
+    /**
+     * Maximum number of IDs and of emails accepted in a single request.
+     */
+    public static final int MAX_BATCH_SIZE = 500;
+
+    @Size(max = MAX_BATCH_SIZE)
+    @Builder.Default
+    private List<UUID> ids = new ArrayList<>();
+
+    @Size(max = MAX_BATCH_SIZE)
+    @Builder.Default
+    private List<String> emails = new ArrayList<>();
+}
@@ -4,6 +4,8 @@ import com.gaming.user.entity.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -29,4 +31,21 @@ public interface UserRepository extends JpaRepository<UserEntity, UUID> {
      * @return true if a user exists with the email, false otherwise
      */
     boolean existsByEmail(String email);
+
+    /**
+     * Find all users whose email is in the given collection.
+     *
+     * @param emails the email addresses to search for
+     * @return the matching users (missing emails are simply absent)
+     */
+    List<UserEntity> findByEmailIn(Collection<String> emails);
+
+    /**
+     * Find all users matching any of the given IDs or emails with a single query.
+     *
+     * @param ids    the user UUIDs to search for
+     * @param emails the email addresses to search for
+     * @return the matching users (missing IDs/emails are simply absent)
+     */
+    List<UserEntity> findByIdInOrEmailIn(Collection<UUID> ids, Collection<String> emails);
 }
@@ -8,6 +8,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
 /**
  * Service class for managing user profiles.
  * Handles business logic for user operations including creation and retrieval.
@@ -78,4 +82,35 @@ public class UserService {
                 .map(UserDTO::fromEntity)
                 .orElseThrow(() -> new RuntimeException("User not found with email: " + email));
     }
+
+    /**
+     * Get all users matching the given IDs and/or emails.
+     * Resolves the whole batch with a single IN query; unknown IDs or emails are simply
+     * left out of the result.
+     *
+     * @param ids    the user UUIDs to look up (may be null or empty)
+     * @param emails the user emails to look up (may be null or empty)
+     * @return the list of matching users
+     */
+    @Transactional(readOnly = true)
+    public List<UserDTO> getUsersByIdsOrEmails(Collection<UUID> ids, Collection<String> emails) {
+        boolean hasIds = ids != null && !ids.isEmpty();
+        boolean hasEmails = emails != null && !emails.isEmpty();
+        log.debug("Batch lookup of {} ids and {} emails", hasIds ? ids.size() : 0, hasEmails ? emails.size() : 0);
+
+        List<UserEntity> users;
+        if (hasIds && hasEmails) {
+            users = userRepository.findByIdInOrEmailIn(ids, emails);
+        } else if (hasIds) {
+            users = userRepository.findAllById(ids);
+        } else if (hasEmails) {
+            users = userRepository.findByEmailIn(emails);
+        } else {
+            return List.of();
+        }
+
+        return users.stream()
+                .map(UserDTO::fromEntity)
+                .toList();
+    }
 }
@@ -11,6 +11,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -128,4 +129,41 @@ class UserServiceTest {
 
         verify(userRepository, times(1)).findByEmail(email);
     }
+
+    @Test
+    void getUsersByIdsOrEmails_ShouldUseSingleQuery_WhenIdsAndEmailsGiven() {
+        // Given: One user looked up by id and one by email
+        UserEntity byId = UserEntity.builder()
+                .id(UUID.randomUUID())
+                .email("byid@example.com")
+                .username("byid")
+                .build();
+        UserEntity byEmail = UserEntity.builder()
+                .id(UUID.randomUUID())
+                .email("byemail@example.com")
+                .username("byemail")
+                .build();
+        List<UUID> ids = List.of(byId.getId());
+        List<String> emails = List.of(byEmail.getEmail(), "missing@example.com");
+
+        when(userRepository.findByIdInOrEmailIn(ids, emails)).thenReturn(List.of(byId, byEmail));
+
+        // When: Calling the batch lookup
+        List<UserDTO> result = userService.getUsersByIdsOrEmails(ids, emails);
+
+        // Then: Should return only the users that exist, resolved with one repository call
+        assertThat(result).extracting(UserDTO::getUsername).containsExactlyInAnyOrder("byid", "byemail");
+        verify(userRepository, times(1)).findByIdInOrEmailIn(ids, emails);
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    void getUsersByIdsOrEmails_ShouldNotQuery_WhenNothingRequested() {
+        // When: Calling the batch lookup with no ids and no emails
+        List<UserDTO> result = userService.getUsersByIdsOrEmails(List.of(), null);
+
+        // Then: Should return an empty list without touching the database
+        assertThat(result).isEmpty();
+        verifyNoInteractions(userRepository);
+    }
 }